@@ -3,9 +3,11 @@ package com.spotserve;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 
 @SpringBootApplication
+@EnableScheduling
 public class SpotServeApplication {
 public static void main(String[] args) {
 SpringApplication.run(SpotServeApplication.class, args);
@@ -0,0 +1,12 @@
+package com.spotserve.config;
+
+/**
+ * The authenticated user as controllers need it: resolved once per login
+ * window by {@link PrincipalCache}, injected with {@link CurrentUser}.
+ */
+public record AuthPrincipal(Long id, String email, String role) {
+
+    public boolean hasRole(String expected) {
+        return expected.equalsIgnoreCase(role);
+    }
+}
@@ -0,0 +1,21 @@
+package com.spotserve.config;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+// UserDetails placed in the security context by the JWT filter, carrying the resolved principal
+public class AuthUserDetails extends User {
+
+    private final AuthPrincipal principal;
+
+    public AuthUserDetails(AuthPrincipal principal, Collection<? extends GrantedAuthority> authorities) {
+        super(principal.email(), "", authorities);
+        this.principal = principal;
+    }
+
+    public AuthPrincipal getPrincipal() {
+        return principal;
+    }
+}
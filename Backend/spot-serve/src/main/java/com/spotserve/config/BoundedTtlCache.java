@@ -0,0 +1,96 @@
+package com.spotserve.config;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Small concurrent cache with a per-entry expiry and a hard size cap.
+ *
+ * Lookups are a single ConcurrentHashMap read. When an insert would exceed
+ * the cap, expired entries are swept first and, if that is not enough, an
+ * arbitrary tenth of the entries is dropped; the loaders behind it are
+ * cheap enough that an occasional miss beats LRU bookkeeping on every hit.
+ */
+public class BoundedTtlCache<K, V> {
+
+    private record Entry<V>(V value, long expiresAtNanos) {}
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final long ttlNanos;
+
+    public BoundedTtlCache(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+    }
+
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null)
+            return null;
+
+        if (entry.expiresAtNanos() - System.nanoTime() <= 0) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    /** Cached value, or the loader's result (cached unless {@code null}). */
+    public V getOrLoad(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value != null)
+            return value;
+
+        value = loader.apply(key);
+        if (value != null)
+            put(key, value);
+        return value;
+    }
+
+    public void put(K key, V value) {
+        putUntil(key, value, System.nanoTime() + ttlNanos);
+    }
+
+    /** Caches with an explicit {@link System#nanoTime()} deadline, capped at the default TTL. */
+    public void putUntil(K key, V value, long expiresAtNanos) {
+        long latest = System.nanoTime() + ttlNanos;
+        if (expiresAtNanos - latest > 0)
+            expiresAtNanos = latest;
+
+        if (entries.size() >= maxSize && !entries.containsKey(key))
+            makeRoom();
+        entries.put(key, new Entry<>(value, expiresAtNanos));
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void invalidateIf(Predicate<? super V> predicate) {
+        entries.values().removeIf(e -> predicate.test(e.value()));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void makeRoom() {
+        long now = System.nanoTime();
+        entries.values().removeIf(e -> e.expiresAtNanos() - now <= 0);
+
+        int toDrop = entries.size() - maxSize + Math.max(1, maxSize / 10);
+        Iterator<K> it = entries.keySet().iterator();
+        while (toDrop-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.spotserve.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Injects the request's {@link AuthPrincipal} into a controller parameter
+ * ({@code null} when the request is anonymous), without a user lookup.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CurrentUser {
+}
@@ -0,0 +1,38 @@
+package com.spotserve.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Outbound HTTP for third-party calls (Google OAuth).
+ *
+ * One shared JDK HttpClient keeps connections alive between calls, and both
+ * timeouts are bounded so a slow upstream cannot pin request threads.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${app.http.connect-timeout-ms:3000}")
+    private long connectTimeoutMs;
+
+    @Value("${app.http.read-timeout-ms:5000}")
+    private long readTimeoutMs;
+
+    @Bean
+    public RestTemplate restTemplate() {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        return new RestTemplate(requestFactory);
+    }
+}
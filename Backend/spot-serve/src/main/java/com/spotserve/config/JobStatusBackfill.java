@@ -0,0 +1,77 @@
+package com.spotserve.config;
+
+import com.spotserve.model.JobStatus;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * One-time copy of the legacy free-text {@code jobs.status} column into the
+ * integer {@code jobs.status_code} column. Only rows without a code are
+ * touched, so it is a no-op after the first run; casing and surrounding
+ * whitespace in the old data ("pending", " COMPLETED", ...) are normalized
+ * here.
+ *
+ * A legacy value that matches no status is not guessed at: the rows that
+ * are left without a code make startup fail with the offending values and
+ * their counts, so they are fixed or mapped before the app serves jobs it
+ * cannot read. A schema without the legacy column is the only case skipped.
+ *
+ * Runs once every singleton is created and before the web server starts,
+ * so no request (PaymentController, JobClaimService, ...) and no startup
+ * listener such as the pending index ever reads a job with a null status.
+ */
+@Component
+public class JobStatusBackfill implements SmartInitializingSingleton {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        backfill();
+    }
+
+    public void backfill() {
+        // fresh schema: there is no legacy status column to migrate
+        if (!hasLegacyColumn())
+            return;
+
+        StringBuilder cases = new StringBuilder();
+        for (JobStatus s : JobStatus.values())
+            cases.append(" WHEN '").append(s.getLabel().toUpperCase()).append("' THEN ").append(s.getCode());
+
+        String sql = "UPDATE jobs SET status_code = CASE UPPER(TRIM(status))" + cases + " END "
+                + "WHERE status_code IS NULL AND status IS NOT NULL";
+
+        jdbcTemplate.update(sql);
+
+        List<Map<String, Object>> unmapped = jdbcTemplate.queryForList(
+                "SELECT status AS label, COUNT(*) AS job_count FROM jobs "
+                        + "WHERE status_code IS NULL AND status IS NOT NULL GROUP BY status ORDER BY status");
+
+        if (!unmapped.isEmpty()) {
+            long total = unmapped.stream().mapToLong(row -> ((Number) row.get("job_count")).longValue()).sum();
+            String labels = unmapped.stream()
+                    .map(row -> "'" + row.get("label") + "' (" + row.get("job_count") + ")")
+                    .collect(Collectors.joining(", "));
+            throw new IllegalStateException(total + " jobs have a legacy status that matches no JobStatus: "
+                    + labels + ". Fix or map these rows in jobs.status_code, then restart.");
+        }
+    }
+
+    private boolean hasLegacyColumn() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) con -> {
+            try (ResultSet columns = con.getMetaData().getColumns(con.getCatalog(), null, "jobs", "status")) {
+                return columns.next();
+            }
+        }));
+    }
+}
@@ -1,8 +1,8 @@
 package com.spotserve.config;
 
-import com.spotserve.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -14,6 +14,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.List;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -22,7 +23,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtService jwtService;
 
     @Autowired
-    private UserRepository userRepository;
+    private PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -31,34 +32,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
 
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String userEmail;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUsername(jwt); // ✅ uses updated method
+        // one verification (or a cache hit) yields email, role and expiry together
+        VerifiedToken token = jwtService.verify(authHeader.substring(7));
 
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            var userOpt = userRepository.findByEmail(userEmail);
+            // cached: no database read on most requests
+            AuthPrincipal principal = principalCache.resolve(token.email());
 
-            if (userOpt.isPresent() && jwtService.validateToken(jwt, userEmail)) {
+            if (principal != null) {
 
-                String role = jwtService.extractRole(jwt);
-                String password = userOpt.get().getPassword();
+                String role = token.role();
 
-                // ⭐ If Google Login user => password may be null
-                if (password == null) password = "";
-
-                UserDetails userDetails = org.springframework.security.core.userdetails.User
-                        .withUsername(userOpt.get().getEmail())
-                        .password(password)
-                        .roles(role)
-                        .build();
+                UserDetails userDetails = new AuthUserDetails(principal,
+                        List.of(new SimpleGrantedAuthority("ROLE_" + role)));
 
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(
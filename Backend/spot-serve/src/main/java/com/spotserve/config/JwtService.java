@@ -1,14 +1,22 @@
 package com.spotserve.config;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
-import java.util.function.Function;
 
 @Service
 public class JwtService {
@@ -16,8 +24,22 @@ public class JwtService {
     private static final String SECRET_KEY = "supersecretkeyforspotserveproject123456789"; 
     private static final long EXPIRATION_TIME = 1000 * 60 * 60 * 10; // 10 hours
 
-    private Key getSignKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    // Built once: the key and parser are immutable and thread-safe
+    private static final Key SIGN_KEY = Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+    private static final JwtParser PARSER = Jwts.parserBuilder().setSigningKey(SIGN_KEY).build();
+
+    @Value("${app.jwt.verified-cache.max-size:10000}")
+    private int verifiedCacheSize;
+
+    @Value("${app.jwt.verified-cache.ttl-seconds:300}")
+    private long verifiedCacheTtlSeconds;
+
+    // SHA-256 of a token → its verified claims, kept until the token's own expiry (at most the TTL)
+    private BoundedTtlCache<String, VerifiedToken> verified;
+
+    @PostConstruct
+    void init() {
+        verified = new BoundedTtlCache<>(verifiedCacheSize, verifiedCacheTtlSeconds * 1000);
     }
 
     // Generate Token
@@ -27,51 +49,58 @@ public class JwtService {
                 .claim("role", role)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(getSignKey(), SignatureAlgorithm.HS256)
+                .signWith(SIGN_KEY, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    // Validate token
-    public boolean validateToken(String token, String email) {
-        final String username = extractEmail(token);
-        return (username.equals(email) && !isTokenExpired(token));
-    }
+    /**
+     * Verifies signature and expiry once and returns the claims, or
+     * {@code null} if the token is invalid or expired. A token seen
+     * recently is answered from the digest cache without re-parsing.
+     */
+    public VerifiedToken verify(String token) {
+        if (token == null || token.isBlank())
+            return null;
 
-    // Extract Email (RENAMED)
-    public String extractEmail(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
+        String digest = digest(token);
+        VerifiedToken cached = verified.get(digest);
+        if (cached != null)
+            return cached;
 
-    // Alias for JwtAuthenticationFilter
-    public String extractUsername(String token) {
-        return extractEmail(token);
-    }
+        Claims claims;
+        try {
+            claims = PARSER.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
 
-    // Extract Role
-    public String extractRole(String token) {
-        return extractAllClaims(token).get("role", String.class);
-    }
+        if (claims.getSubject() == null || claims.getExpiration() == null)
+            return null;
 
-    // Extract Expiration
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
+        VerifiedToken result = new VerifiedToken(
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.getExpiration().toInstant());
+
+        long millisLeft = result.expiresAt().toEpochMilli() - System.currentTimeMillis();
+        if (millisLeft > 0)
+            verified.putUntil(digest, result, System.nanoTime() + millisLeft * 1_000_000L);
 
-    // Claim extractor
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return result;
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    // Extract Email (null when the token is not valid)
+    public String extractEmail(String token) {
+        VerifiedToken verifiedToken = verify(token);
+        return verifiedToken != null ? verifiedToken.email() : null;
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
@@ -0,0 +1,52 @@
+package com.spotserve.config;
+
+import com.spotserve.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Email → {@link AuthPrincipal} for authenticated requests.
+ *
+ * The JWT filter resolves every request through here, so a user is read
+ * from the database once per TTL window instead of on every call.
+ * Anything that changes or removes a user must {@link #evict} it.
+ */
+@Component
+public class PrincipalCache {
+
+    @Value("${app.auth.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${app.auth.principal-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private BoundedTtlCache<String, AuthPrincipal> cache;
+
+    @PostConstruct
+    void init() {
+        cache = new BoundedTtlCache<>(maxSize, ttlSeconds * 1000);
+    }
+
+    /** The principal for this email, or {@code null} if no such user exists. */
+    public AuthPrincipal resolve(String email) {
+        return cache.getOrLoad(email, e -> userRepository.findByEmail(e)
+                .map(u -> new AuthPrincipal(u.getId(), u.getEmail(), u.getRole()))
+                .orElse(null));
+    }
+
+    public void evict(String email) {
+        if (email != null)
+            cache.invalidate(email);
+    }
+
+    public void evict(Long userId) {
+        if (userId != null)
+            cache.invalidateIf(p -> userId.equals(p.id()));
+    }
+}
@@ -0,0 +1,186 @@
+package com.spotserve.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Rate limits the endpoints where a retry storm turns straight into BCrypt
+ * or database work: login / register per client IP, and OTP verification /
+ * checkout per user and per IP. Every other request passes after a couple
+ * of string comparisons.
+ *
+ * Login / register are also limited per account email, so one account
+ * cannot be guessed at from a pool of addresses. The email is in the JSON
+ * body, which only the controller reads, so AuthController asks
+ * {@link #checkAuthEmail} once it has it, and hands the token back with
+ * {@link #refundAuthEmail} when the password was right.
+ *
+ * Runs inside the security chain right after {@link JwtAuthenticationFilter}
+ * so the user is known; see SecurityConfig for why it is not also
+ * registered as a plain servlet filter.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String OTP_SUFFIX = "/verify-otp";
+    private static final String JOBS_PREFIX = "/api/customer/jobs/";
+
+    @Value("${app.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.rate-limit.auth.burst:10}")
+    private int authBurst;
+
+    @Value("${app.rate-limit.auth.per-minute:20}")
+    private int authPerMinute;
+
+    @Value("${app.rate-limit.auth.email-burst:5}")
+    private int authEmailBurst;
+
+    @Value("${app.rate-limit.auth.email-per-minute:10}")
+    private int authEmailPerMinute;
+
+    @Value("${app.rate-limit.write.user-burst:5}")
+    private int writeUserBurst;
+
+    @Value("${app.rate-limit.write.user-per-minute:10}")
+    private int writeUserPerMinute;
+
+    @Value("${app.rate-limit.write.ip-burst:20}")
+    private int writeIpBurst;
+
+    @Value("${app.rate-limit.write.ip-per-minute:60}")
+    private int writeIpPerMinute;
+
+    private RateLimiter authByIp;
+    private RateLimiter authByEmail;
+    private RateLimiter otpByUser;
+    private RateLimiter otpByIp;
+    private RateLimiter checkoutByUser;
+    private RateLimiter checkoutByIp;
+
+    @PostConstruct
+    void init() {
+        authByIp = new RateLimiter("auth-ip", authBurst, authPerMinute);
+        authByEmail = new RateLimiter("auth-email", authEmailBurst, authEmailPerMinute);
+        otpByUser = new RateLimiter("verify-otp-user", writeUserBurst, writeUserPerMinute);
+        otpByIp = new RateLimiter("verify-otp-ip", writeIpBurst, writeIpPerMinute);
+        checkoutByUser = new RateLimiter("checkout-user", writeUserBurst, writeUserPerMinute);
+        checkoutByIp = new RateLimiter("checkout-ip", writeIpBurst, writeIpPerMinute);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        long waitNanos = enabled ? check(request.getMethod(), request.getRequestURI(), request.getRemoteAddr()) : 0;
+
+        if (waitNanos > 0) {
+            response.setStatus(429);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds(waitNanos)));
+            response.setContentType("application/json");
+            response.getWriter().write("{\"error\": \"Too many requests, please retry later\"}");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /** Nanos the caller has to wait, or 0 when the request may proceed. */
+    long check(String method, String uri, String ip) {
+        switch (method) {
+            case "POST":
+                if (uri.equals("/api/auth/login") || uri.equals("/api/auth/register"))
+                    return authByIp.tryAcquire(ip);
+                if (uri.equals("/api/payments/create-checkout-session"))
+                    return acquireBoth(checkoutByUser, checkoutByIp, ip);
+                return 0;
+            case "PUT":
+                if (uri.endsWith(OTP_SUFFIX) && uri.startsWith(JOBS_PREFIX))
+                    return acquireBoth(otpByUser, otpByIp, ip);
+                return 0;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Takes a login / register token for the account email (trimmed,
+     * lower-cased); 0 when allowed, otherwise the nanos to wait. A missing
+     * email is left to the controller's own validation.
+     */
+    public long checkAuthEmail(String email) {
+        if (!enabled || email == null || email.isBlank())
+            return 0;
+        return authByEmail.tryAcquire(email.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Returns the token {@link #checkAuthEmail} took, once the login turned
+     * out to carry the right password: only failed guesses count against
+     * the account.
+     */
+    public void refundAuthEmail(String email) {
+        if (!enabled || email == null || email.isBlank())
+            return;
+        authByEmail.refund(email.trim().toLowerCase(Locale.ROOT));
+    }
+
+    public static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+    }
+
+    // The IP bucket still applies when the caller is anonymous
+    private long acquireBoth(RateLimiter byUser, RateLimiter byIp, String ip) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof AuthUserDetails user) {
+            long wait = byUser.tryAcquire(String.valueOf(user.getPrincipal().id()));
+            if (wait > 0)
+                return wait;
+        }
+        return byIp.tryAcquire(ip);
+    }
+
+    /* ======================================================
+       🧹 Idle bucket eviction
+    ====================================================== */
+    @Scheduled(fixedDelayString = "${app.rate-limit.evict-interval-ms:60000}")
+    public void evictIdle() {
+        for (RateLimiter limiter : limiters())
+            limiter.evictIdle();
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        for (RateLimiter limiter : limiters()) {
+            metrics.put(limiter.getName(), Map.of(
+                    "buckets", limiter.size(),
+                    "allowed", limiter.getAllowedCount(),
+                    "rejected", limiter.getRejectedCount()
+            ));
+        }
+        return metrics;
+    }
+
+    private List<RateLimiter> limiters() {
+        return List.of(authByIp, authByEmail, otpByUser, otpByIp, checkoutByUser, checkoutByIp);
+    }
+}
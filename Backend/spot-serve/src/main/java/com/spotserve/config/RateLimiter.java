@@ -0,0 +1,121 @@
+package com.spotserve.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token buckets keyed by client (IP or user), one instance per limit.
+ *
+ * Each bucket is a single {@link AtomicLong} holding its "theoretical arrival
+ * time" (GCRA): refill is implied by the clock, so taking a token is one CAS
+ * with no lock and no timer. A bucket whose arrival time has passed is full
+ * and therefore identical to a missing one, which is what makes idle eviction
+ * lossless. Buckets live in a fixed number of map stripes so eviction can
+ * walk one stripe at a time without stalling writers on the others.
+ */
+public class RateLimiter {
+
+    private static final int STRIPES = 16;
+
+    private final String name;
+    private final long intervalNanos;   // time to refill one token
+    private final long burstNanos;      // burst * interval: how far ahead a bucket may run
+
+    @SuppressWarnings("unchecked")
+    private final Map<String, AtomicLong>[] stripes = new Map[STRIPES];
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public RateLimiter(String name, int burst, int perMinute) {
+        this.name = name;
+        this.intervalNanos = 60_000_000_000L / Math.max(1, perMinute);
+        this.burstNanos = intervalNanos * Math.max(1, burst);
+        for (int i = 0; i < STRIPES; i++)
+            stripes[i] = new ConcurrentHashMap<>();
+    }
+
+    /** Takes one token for {@code key}; returns 0 when allowed, otherwise the nanos until one is free. */
+    public long tryAcquire(String key) {
+        AtomicLong bucket = stripeOf(key).computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+
+        while (true) {
+            long now = System.nanoTime();
+            long tat = bucket.get();
+            long next = (tat == Long.MIN_VALUE || tat - now < 0 ? now : tat) + intervalNanos;
+
+            long ahead = next - now - burstNanos;
+            if (ahead > 0) {
+                rejected.increment();
+                return ahead;
+            }
+            if (bucket.compareAndSet(tat, next)) {
+                allowed.increment();
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Gives back one token taken by {@link #tryAcquire} for {@code key}, for
+     * callers that only learn afterwards that a request should not count.
+     * A full (or evicted) bucket is left as it is.
+     */
+    public void refund(String key) {
+        AtomicLong bucket = stripeOf(key).get(key);
+        if (bucket == null)
+            return;
+
+        while (true) {
+            long now = System.nanoTime();
+            long tat = bucket.get();
+            if (tat == Long.MIN_VALUE || tat - now <= 0)
+                return;
+            // a refund that reaches past now just leaves the bucket full
+            if (bucket.compareAndSet(tat, tat - intervalNanos))
+                return;
+        }
+    }
+
+    /** Drops buckets that have refilled completely; returns how many were removed. */
+    public int evictIdle() {
+        int removed = 0;
+        for (Map<String, AtomicLong> stripe : stripes) {
+            long now = System.nanoTime();
+            for (Map.Entry<String, AtomicLong> entry : stripe.entrySet()) {
+                long tat = entry.getValue().get();
+                // conditional remove; a request racing it may spend its token on the
+                // dropped bucket, which only ever errs towards letting one more through
+                if ((tat == Long.MIN_VALUE || tat - now <= 0) && stripe.remove(entry.getKey(), entry.getValue()))
+                    removed++;
+            }
+        }
+        return removed;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Map<String, AtomicLong> stripe : stripes)
+            size += stripe.size();
+        return size;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getAllowedCount() {
+        return allowed.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    private Map<String, AtomicLong> stripeOf(String key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+}
@@ -2,9 +2,14 @@ package com.spotserve.config;
 
 import java.util.List;
 
+import com.spotserve.controller.PageResponses;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -23,6 +28,13 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    // Raising this re-hashes existing passwords the next time their owners log in
+    @Value("${app.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
 
@@ -35,6 +47,9 @@ public class SecurityConfig {
 
             .authorizeHttpRequests(auth -> auth
 
+                // Async re-dispatches (SSE streams) were already authorized on the original request
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // Public (No login needed)
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/auth/google/**").permitAll()
@@ -65,6 +80,18 @@ public class SecurityConfig {
                 // Admin Service Management
                 .requestMatchers("/api/admin/services/**").hasRole("ADMIN")
 
+                // Admin Dispatch
+                .requestMatchers("/api/admin/dispatch/**").hasRole("ADMIN")
+
+                // Admin Metrics
+                .requestMatchers("/api/admin/metrics/**").hasRole("ADMIN")
+
+                // Admin Reports
+                .requestMatchers("/api/admin/reports/**").hasRole("ADMIN")
+
+                // Admin Mechanic Ratings (lookup + full rebuild)
+                .requestMatchers("/api/admin/mechanics/ratings/**").hasRole("ADMIN")
+
                 // Everything else requires authentication
                 .anyRequest().authenticated()
             )
@@ -75,7 +102,10 @@ public class SecurityConfig {
             )
 
             // place JWT filter before username/password filter
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+
+            // rate limits need the authenticated user, so they run after the JWT filter
+            .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -90,6 +120,7 @@ public class SecurityConfig {
         config.setAllowedOriginPatterns(List.of("http://localhost:3000"));
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(List.of("*"));
+        config.setExposedHeaders(List.of(PageResponses.NEXT_CURSOR_HEADER, PageResponses.TOTAL_COUNT_HEADER, HttpHeaders.ETAG));
         config.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -97,9 +128,21 @@ public class SecurityConfig {
         return source;
     }
 
+    /**
+     * Keeps Boot from also registering the rate limiter as a plain servlet
+     * filter: that copy would run before authentication, see every caller as
+     * anonymous and mark the request as filtered for the chained one.
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     @Bean
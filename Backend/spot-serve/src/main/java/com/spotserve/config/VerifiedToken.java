@@ -0,0 +1,7 @@
+package com.spotserve.config;
+
+import java.time.Instant;
+
+/** Claims of a JWT whose signature and expiry have been checked. */
+public record VerifiedToken(String email, String role, Instant expiresAt) {
+}
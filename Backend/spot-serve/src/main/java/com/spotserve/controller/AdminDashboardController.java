@@ -1,19 +1,18 @@
 package com.spotserve.controller;
 
-import com.spotserve.model.Job;
-import com.spotserve.model.User;
-import com.spotserve.model.ServiceEntity;
+import com.spotserve.model.JobStatus;
 import com.spotserve.model.Feedback;
 import com.spotserve.repository.JobRepository;
-import com.spotserve.repository.UserRepository;
-import com.spotserve.repository.ServiceRepository;
-import com.spotserve.repository.FeedbackRepository;
+import com.spotserve.repository.JobSummary;
+import com.spotserve.repository.KeysetCursor;
+import com.spotserve.service.DashboardCounters;
+import com.spotserve.service.UserNameLookup;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -26,13 +25,10 @@ public class AdminDashboardController {
     private JobRepository jobRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private UserNameLookup userNameLookup;
 
     @Autowired
-    private ServiceRepository serviceRepository;
-
-    @Autowired
-    private FeedbackRepository feedbackRepository;  // ✅ NEW
+    private DashboardCounters dashboardCounters;
 
     // ✅ 1. Summary stats for Admin Dashboard
     @GetMapping("/stats")
@@ -40,64 +36,43 @@ public class AdminDashboardController {
         if (userDetails == null)
             return ResponseEntity.status(401).body(Map.of("error", "Unauthorized"));
 
-        long total = jobRepository.count();
-        long completed = jobRepository.countByStatus("Completed");
-        long pending = jobRepository.countByStatus("Pending");
-        long cancelled = jobRepository.countByStatus("Cancelled");
-        long accepted = jobRepository.countByStatus("Accepted");
-        long ongoing = jobRepository.countByStatus("Ongoing");
-        
-        // ✅ Corrected KPI counts
-        long totalFeedback = feedbackRepository.count();
-        long totalUsers = userRepository.countByRole("CUSTOMER");     // only customers
-        long totalMechanics = userRepository.countByRole("MECHANIC"); // only mechanics
+        // ✅ Served from in-memory counters (one GROUP BY per table when they need a reload)
+        Map<String, Object> stats = dashboardCounters.snapshot();
 
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("total", total);
-        stats.put("completed", completed);
-        stats.put("pending", pending);
-        stats.put("cancelled", cancelled);
-        stats.put("accepted", accepted);
-        stats.put("ongoing", ongoing);
-        stats.put("totalUsers", totalUsers);
-        stats.put("totalMechanics", totalMechanics);
-        stats.put("totalFeedback", totalFeedback);  // ✅ real feedback count
-        
         return ResponseEntity.ok(stats);
     }
 
     // ✅ 2. Get all jobs by status with readable info
     @GetMapping("/jobs")
-    public ResponseEntity<List<Job>> getJobsByStatus(
+    public ResponseEntity<List<JobSummary>> getJobsByStatus(
             @RequestParam String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
             @AuthenticationPrincipal UserDetails userDetails) {
         if (userDetails == null)
             return ResponseEntity.status(401).body(null);
 
-        List<Job> jobs = jobRepository.findByStatus(status);
-        for (Job job : jobs) {
-            // 🔹 Attach Service Name
-            if (job.getServiceId() != null) {
-                ServiceEntity service = serviceRepository.findById(job.getServiceId()).orElse(null);
-                if (service != null)
-                    job.setServiceName(service.getName());
-            }
-
-            // 🔹 Attach Customer Name
-            if (job.getCustomerId() != null) {
-                User customer = userRepository.findById(job.getCustomerId()).orElse(null);
-                if (customer != null)
-                    job.setCustomerName(customer.getName());
-            }
+        // 🔹 Service name comes joined in with the rows
+        KeysetCursor.Page<JobSummary> page;
+        try {
+            page = jobRepository.pageByStatus(JobStatus.fromLabel(status),
+                    KeysetCursor.decode(cursor), KeysetCursor.clampLimit(limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        }
 
-            // 🔹 Attach Mechanic Name
-            if (job.getMechanicId() != null) {
-                User mechanic = userRepository.findById(job.getMechanicId()).orElse(null);
-                if (mechanic != null)
-                    job.setMechanicName(mechanic.getName());
-            }
+        // 🔹 Customer + mechanic names for the whole page in one query
+        List<Long> userIds = new ArrayList<>(page.items().size() * 2);
+        for (JobSummary job : page.items()) {
+            userIds.add(job.customerId());
+            userIds.add(job.mechanicId());
         }
+        Map<Long, String> names = userNameLookup.namesOf(userIds);
+
+        List<JobSummary> jobs = new ArrayList<>(page.items().size());
+        for (JobSummary job : page.items())
+            jobs.add(job.withNames(names.get(job.customerId()), names.get(job.mechanicId())));
 
-        return ResponseEntity.ok(jobs);
+        return PageResponses.of(jobs, page.nextCursor());
     }
 }
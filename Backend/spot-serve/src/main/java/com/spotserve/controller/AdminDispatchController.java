@@ -0,0 +1,41 @@
+package com.spotserve.controller;
+
+import com.spotserve.service.DispatchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/dispatch")
+@CrossOrigin(origins = "*")
+public class AdminDispatchController {
+
+    @Autowired
+    private DispatchService dispatchService;
+
+    // ✅ 1. Metrics of the last dispatch cycle
+    @GetMapping("/metrics")
+    public ResponseEntity<?> getMetrics(@AuthenticationPrincipal UserDetails userDetails) {
+        if (userDetails == null)
+            return ResponseEntity.status(401).body("Unauthorized");
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("enabled", dispatchService.isEnabled());
+        response.put("lastCycle", dispatchService.getLastCycle());
+        return ResponseEntity.ok(response);
+    }
+
+    // ✅ 2. Run one dispatch cycle now
+    @PostMapping("/run")
+    public ResponseEntity<?> runNow(@AuthenticationPrincipal UserDetails userDetails) {
+        if (userDetails == null)
+            return ResponseEntity.status(401).body("Unauthorized");
+
+        return ResponseEntity.ok(dispatchService.runCycle());
+    }
+}
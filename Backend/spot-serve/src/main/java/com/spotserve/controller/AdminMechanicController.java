@@ -1,18 +1,22 @@
 package com.spotserve.controller;
 
+import com.spotserve.config.PrincipalCache;
 import com.spotserve.model.User;
 import com.spotserve.repository.UserRepository;
-import com.spotserve.repository.JobRepository;
+import com.spotserve.service.MechanicLocationRegistry;
+import com.spotserve.service.PasswordHashingService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.Instant;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/admin/mechanics")
@@ -23,62 +27,79 @@ public class AdminMechanicController {
     private UserRepository userRepository;
 
     @Autowired
-    private JobRepository jobRepository;
+    private PasswordHashingService passwordHashingService;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private MechanicLocationRegistry locationRegistry;
 
-    // ✅ 1. Fetch all mechanics + summary
+    @Autowired
+    private PrincipalCache principalCache;
+
+    // Sortable roster columns and the direction each one defaults to
+    private static final Map<String, Sort.Direction> ROSTER_SORTS = Map.of(
+            "id", Sort.Direction.ASC,
+            "name", Sort.Direction.ASC,
+            "completedJobs", Sort.Direction.DESC,
+            "ongoingJobs", Sort.Direction.DESC,
+            "totalJobs", Sort.Direction.DESC
+    );
+    private static final int DEFAULT_ROSTER_SIZE = 50;
+    private static final int MAX_ROSTER_SIZE = 200;
+
+    // ✅ 1. Fetch mechanics + job summary, one page at a time (?page=0&size=50&sort=completedJobs,desc)
     @GetMapping
-    public ResponseEntity<?> getAllMechanics(@AuthenticationPrincipal UserDetails userDetails) {
+    public ResponseEntity<?> getAllMechanics(@RequestParam(defaultValue = "0") int page,
+                                             @RequestParam(required = false) Integer size,
+                                             @RequestParam(defaultValue = "name") String sort,
+                                             @AuthenticationPrincipal UserDetails userDetails) {
         if (userDetails == null)
             return ResponseEntity.status(401).body("Unauthorized");
 
-        List<User> mechanics = userRepository.findAll()
-                .stream()
-                .filter(u -> "MECHANIC".equalsIgnoreCase(u.getRole()))
-                .collect(Collectors.toList());
-
-        List<Map<String, Object>> mechanicData = new ArrayList<>();
+        String[] parts = sort.split(",");
+        Sort.Direction direction = ROSTER_SORTS.get(parts[0]);
+        if (direction == null || page < 0)
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid page or sort"));
+        if (parts.length > 1)
+            direction = "asc".equalsIgnoreCase(parts[1]) ? Sort.Direction.ASC : Sort.Direction.DESC;
 
-        for (User mechanic : mechanics) {
-            long completed = jobRepository.findByMechanicId(mechanic.getId()).stream()
-                    .filter(job -> "Completed".equalsIgnoreCase(job.getStatus()))
-                    .count();
+        int pageSize = size == null ? DEFAULT_ROSTER_SIZE : Math.max(1, Math.min(size, MAX_ROSTER_SIZE));
 
-            long ongoing = jobRepository.findByMechanicId(mechanic.getId()).stream()
-                    .filter(job -> "Ongoing".equalsIgnoreCase(job.getStatus()))
-                    .count();
+        // id breaks ties so rows never jump between pages
+        Sort order = Sort.by(direction, parts[0]);
+        if (!parts[0].equals("id"))
+            order = order.and(Sort.by(Sort.Direction.ASC, "id"));
 
-            long total = completed + ongoing;
+        // ✅ Profile + Completed / Ongoing counts in one grouped query
+        Page<UserRepository.MechanicRosterRow> rows =
+                userRepository.findMechanicRoster(PageRequest.of(page, pageSize, order));
 
+        return PageResponses.of(rows.map(row -> {
             Map<String, Object> data = new HashMap<>();
-            data.put("id", mechanic.getId());
-            data.put("name", mechanic.getName());
-            data.put("email", mechanic.getEmail());
-            data.put("phone", mechanic.getPhone());
-            data.put("shopName", mechanic.getShopName());
-            data.put("address", mechanic.getAddress());
-            data.put("latitude", mechanic.getLatitude());
-            data.put("longitude", mechanic.getLongitude());
-            data.put("completedJobs", completed);
-            data.put("ongoingJobs", ongoing);
-            data.put("totalJobs", total);
-            mechanicData.add(data);
-        }
-
-        return ResponseEntity.ok(mechanicData);
+            data.put("id", row.getId());
+            data.put("name", row.getName());
+            data.put("email", row.getEmail());
+            data.put("phone", row.getPhone());
+            data.put("shopName", row.getShopName());
+            data.put("address", row.getAddress());
+            data.put("latitude", row.getLatitude());
+            data.put("longitude", row.getLongitude());
+            data.put("completedJobs", row.getCompletedJobs());
+            data.put("ongoingJobs", row.getOngoingJobs());
+            data.put("totalJobs", row.getTotalJobs());
+            return data;
+        }));
     }
 
     // ✅ 2. Add new mechanic (only admin)
     @PostMapping
-    public ResponseEntity<?> addMechanic(@RequestBody User newMechanic,
-                                         @AuthenticationPrincipal UserDetails userDetails) {
+    public CompletableFuture<ResponseEntity<?>> addMechanic(@RequestBody User newMechanic,
+                                                            @AuthenticationPrincipal UserDetails userDetails) {
         if (userDetails == null)
-            return ResponseEntity.status(401).body("Unauthorized");
+            return CompletableFuture.completedFuture(ResponseEntity.status(401).body("Unauthorized"));
 
         if (userRepository.findByEmail(newMechanic.getEmail()).isPresent()) {
-            return ResponseEntity.badRequest().body(Map.of("error", "Email already exists"));
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body(Map.of("error", "Email already exists")));
         }
 
         newMechanic.setRole("MECHANIC");
@@ -87,11 +108,11 @@ public class AdminMechanicController {
         if (newMechanic.getLatitude() == null) newMechanic.setLatitude(0.0);
         if (newMechanic.getLongitude() == null) newMechanic.setLongitude(0.0);
 
-        newMechanic.setPassword(passwordEncoder.encode(newMechanic.getPassword()));
-
-        userRepository.save(newMechanic);
-
-        return ResponseEntity.ok(Map.of("message", "Mechanic added successfully!"));
+        return passwordHashingService.encode(newMechanic.getPassword()).thenApplyAsync(hash -> {
+            newMechanic.setPassword(hash);
+            userRepository.save(newMechanic);
+            return ResponseEntity.ok(Map.of("message", "Mechanic added successfully!"));
+        }, passwordHashingService.followUpExecutor());
     }
 
     // ✅ 3. Delete mechanic safely
@@ -112,6 +133,8 @@ public class AdminMechanicController {
         }
 
         userRepository.delete(mechanic);
+        locationRegistry.forget(mechanic.getId());
+        principalCache.evict(mechanic.getEmail());
         return ResponseEntity.ok(Map.of("message", "Mechanic deleted successfully!"));
     }
 }
@@ -0,0 +1,36 @@
+package com.spotserve.controller;
+
+import com.spotserve.config.RateLimitFilter;
+import com.spotserve.service.PasswordHashingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/metrics")
+@CrossOrigin(origins = "*")
+public class AdminMetricsController {
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    // ✅ 1. Runtime metrics of the shared worker pools
+    @GetMapping
+    public ResponseEntity<?> getMetrics(@AuthenticationPrincipal UserDetails userDetails) {
+        if (userDetails == null)
+            return ResponseEntity.status(401).body("Unauthorized");
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("passwordHashing", passwordHashingService.metrics());
+        response.put("rateLimits", rateLimitFilter.metrics());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,102 @@
+package com.spotserve.controller;
+
+import com.spotserve.service.JobRollupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/reports")
+@CrossOrigin(origins = "*")
+public class AdminReportController {
+
+    @Autowired
+    private JobRollupService jobRollupService;
+
+    @Value("${app.reports.max-range-days:366}")
+    private long maxRangeDays;
+
+    // ✅ 1. Job trends from the hourly rollups
+    //       (?from=2024-01-01T00:00:00Z&to=2024-04-01T00:00:00Z&granularity=day&groupBy=service)
+    @GetMapping("/jobs")
+    public ResponseEntity<?> getJobTrends(@RequestParam String from,
+                                          @RequestParam String to,
+                                          @RequestParam(defaultValue = "hour") String granularity,
+                                          @RequestParam(defaultValue = "event") String groupBy,
+                                          @AuthenticationPrincipal UserDetails userDetails) {
+        if (userDetails == null)
+            return ResponseEntity.status(401).body("Unauthorized");
+
+        Instant start, end;
+        try {
+            start = Instant.parse(from);
+            end = Instant.parse(to);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "from and to must be ISO-8601 instants"));
+        }
+        if (!end.isAfter(start) || Duration.between(start, end).toDays() > maxRangeDays)
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid range"));
+
+        if (!granularity.equalsIgnoreCase("hour") && !granularity.equalsIgnoreCase("day"))
+            return ResponseEntity.badRequest().body(Map.of("error", "granularity must be hour or day"));
+
+        JobRollupService.GroupBy grouping;
+        try {
+            grouping = JobRollupService.GroupBy.valueOf(groupBy.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "groupBy must be event, service or mechanic"));
+        }
+
+        List<Map<String, Object>> series =
+                jobRollupService.series(start, end, grouping, granularity.equalsIgnoreCase("day"));
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("from", start);
+        response.put("to", end);
+        response.put("granularity", granularity.toLowerCase());
+        response.put("groupBy", groupBy.toLowerCase());
+        response.put("series", series);
+        return ResponseEntity.ok(response);
+    }
+
+    // ✅ 2. Rebuild rollups of a past range from the jobs table
+    @PostMapping("/backfill")
+    public ResponseEntity<?> backfill(@RequestParam String from,
+                                      @RequestParam String to,
+                                      @AuthenticationPrincipal UserDetails userDetails) {
+        if (userDetails == null)
+            return ResponseEntity.status(401).body("Unauthorized");
+
+        Instant start, end;
+        try {
+            start = Instant.parse(from);
+            end = Instant.parse(to);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "from and to must be ISO-8601 instants"));
+        }
+        if (!end.isAfter(start))
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid range"));
+
+        // ✅ Only history from before live rollups: later hours would lose their live rows
+        Instant limit = jobRollupService.backfillLimit();
+        if (limit == null)
+            return ResponseEntity.status(409).body(Map.of("error", "Backfill is disabled until app.rollups.cutover is set"));
+        if (end.isAfter(limit))
+            return ResponseEntity.badRequest().body(Map.of("error", "Backfill range must end at or before " + limit));
+
+        JobRollupService.BackfillResult result = jobRollupService.backfill(start, end);
+        return ResponseEntity.ok(Map.of(
+                "jobsScanned", result.jobsScanned(),
+                "rowsWritten", result.rowsWritten()));
+    }
+}
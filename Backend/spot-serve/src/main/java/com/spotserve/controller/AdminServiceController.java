@@ -2,11 +2,12 @@ package com.spotserve.controller;
 
 import com.spotserve.model.ServiceEntity;
 import com.spotserve.repository.ServiceRepository;
+import com.spotserve.service.ServiceCatalog;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -17,12 +18,16 @@ public class AdminServiceController {
     @Autowired
     private ServiceRepository serviceRepository;
 
+    @Autowired
+    private ServiceCatalog serviceCatalog;
+
     // ============================================================
     // ✅ 1. Get All Services
     // ============================================================
     @GetMapping
-    public ResponseEntity<List<ServiceEntity>> getAllServices() {
-        return ResponseEntity.ok(serviceRepository.findAll());
+    public ResponseEntity<?> getAllServices(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return ConditionalResponses.of(serviceCatalog.snapshot().json(), ifNoneMatch);
     }
 
     // ============================================================
@@ -38,6 +43,7 @@ public class AdminServiceController {
         }
 
         ServiceEntity saved = serviceRepository.save(service);
+        serviceCatalog.reload();
         return ResponseEntity.ok(saved);
     }
 
@@ -60,6 +66,7 @@ public class AdminServiceController {
             service.setBasePrice(updatedService.getBasePrice());
 
         serviceRepository.save(service);
+        serviceCatalog.reload();
 
         return ResponseEntity.ok(service);
     }
@@ -75,6 +82,7 @@ public class AdminServiceController {
         }
 
         serviceRepository.deleteById(id);
+        serviceCatalog.reload();
         return ResponseEntity.ok("{\"message\": \"Service deleted successfully\"}");
     }
 }
@@ -1,16 +1,14 @@
 package com.spotserve.controller;
 
-import com.spotserve.model.User;
+import com.spotserve.repository.KeysetCursor;
 import com.spotserve.repository.UserRepository;
+import com.spotserve.repository.UserSummary;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @RestController
 @RequestMapping("/api/admin/users")
 @CrossOrigin(origins = "*")
@@ -19,17 +17,18 @@ public class AdminUserController {
     @Autowired
     private UserRepository userRepository;
 
-    // ✅ Return ALL CUSTOMERS (role = CUSTOMER)
+    // ✅ Customers (role = CUSTOMER), a page at a time; ?q= matches the start of name or email
     @GetMapping
-    public ResponseEntity<?> getAllUsers(@AuthenticationPrincipal UserDetails userDetails) {
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) String q,
+                                         @RequestParam(required = false) Long cursor,
+                                         @RequestParam(required = false) Integer limit,
+                                         @AuthenticationPrincipal UserDetails userDetails) {
         if (userDetails == null)
             return ResponseEntity.status(401).body("Unauthorized");
 
-        List<User> customers = userRepository.findAll()
-                .stream()
-                .filter(u -> "CUSTOMER".equalsIgnoreCase(u.getRole()))
-                .collect(Collectors.toList());
+        KeysetCursor.Page<UserSummary> page =
+                userRepository.pageDirectory("CUSTOMER", cursor, q, KeysetCursor.clampLimit(limit));
 
-        return ResponseEntity.ok(customers);
+        return PageResponses.of(page.items(), page.nextCursor());
     }
 }
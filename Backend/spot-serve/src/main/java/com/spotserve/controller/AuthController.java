@@ -1,17 +1,34 @@
 package com.spotserve.controller;
 
 import com.spotserve.config.JwtService;
+import com.spotserve.config.RateLimitFilter;
 import com.spotserve.model.User;
 import com.spotserve.repository.UserRepository;
+import com.spotserve.service.PasswordHashingService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
-
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Register / login / Google login and the current-user lookup.
+ *
+ * Password logins are limited per account email on top of the per-IP limit
+ * in RateLimitFilter. The token is taken before the password is checked, so
+ * parallel guesses cannot all get through, and is handed back when the
+ * password matches: only failed guesses use up the account's budget.
+ *
+ * Remaining risk: anyone who knows an email can still spend that budget
+ * with wrong passwords, from as many addresses as they like. The owner's
+ * password logins then get 429 until the bucket refills (one attempt every
+ * few seconds with the defaults) for as long as the guessing goes on.
+ * Google login does not go through this limit.
+ */
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "*")
@@ -21,63 +38,98 @@ public class AuthController {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     @Autowired
     private JwtService jwtService;
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
     // --------------------- REGISTER --------------------
     @PostMapping("/register")
-    public ResponseEntity<?> register(@RequestBody User user) {
+    public CompletableFuture<ResponseEntity<?>> register(@RequestBody User user) {
+
+        // per-account limit on top of the per-IP one in RateLimitFilter
+        long waitNanos = rateLimitFilter.checkAuthEmail(user.getEmail());
+        if (waitNanos > 0)
+            return CompletableFuture.completedFuture(tooManyRequests(waitNanos));
 
         if (userRepository.findByEmail(user.getEmail()).isPresent()) {
-            return ResponseEntity.badRequest().body(Map.of("error", "Email already registered!"));
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body(Map.of("error", "Email already registered!")));
         }
 
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
-        userRepository.save(user);
-
-        String token = jwtService.generateToken(user.getEmail(), user.getRole());
+        // hashed on the password pool (a full queue surfaces as 503 via HashingBusyHandler);
+        // the save and token signing continue on the follow-up pool
+        return passwordHashingService.encode(user.getPassword()).thenApplyAsync(hash -> {
+            user.setPassword(hash);
+            userRepository.save(user);
 
-        return ResponseEntity.ok(Map.of(
-                "message", "Registration successful",
-                "token", token,
-                "user", Map.of(
-                        "id", user.getId(),
-                        "name", user.getName(),
-                        "email", user.getEmail(),
-                        "role", user.getRole()
-                )
-        ));
+            String token = jwtService.generateToken(user.getEmail(), user.getRole());
+
+            return ResponseEntity.ok(Map.of(
+                    "message", "Registration successful",
+                    "token", token,
+                    "user", Map.of(
+                            "id", user.getId(),
+                            "name", user.getName(),
+                            "email", user.getEmail(),
+                            "role", user.getRole()
+                    )
+            ));
+        }, passwordHashingService.followUpExecutor());
     }
 
     // ----------------------- LOGIN ----------------------
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody User loginData) {
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody User loginData) {
+        long waitNanos = rateLimitFilter.checkAuthEmail(loginData.getEmail());
+        if (waitNanos > 0)
+            return CompletableFuture.completedFuture(tooManyRequests(waitNanos));
+
         Optional<User> optionalUser = userRepository.findByEmail(loginData.getEmail());
 
         if (optionalUser.isEmpty()) {
-            return ResponseEntity.status(401).body(Map.of("error", "Invalid email or password"));
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.status(401).body(Map.of("error", "Invalid email or password")));
         }
 
         User user = optionalUser.get();
 
-        if (!passwordEncoder.matches(loginData.getPassword(), user.getPassword())) {
-            return ResponseEntity.status(401).body(Map.of("error", "Invalid email or password"));
-        }
-
-        String token = jwtService.generateToken(user.getEmail(), user.getRole());
+        return passwordHashingService.verify(loginData.getPassword(), user.getPassword()).thenApplyAsync(result -> {
+            if (!result.matches()) {
+                return ResponseEntity.status(401).body(Map.of("error", "Invalid email or password"));
+            }
+
+            // the right password is not a guess; give the account its token back
+            rateLimitFilter.refundAuthEmail(loginData.getEmail());
+
+            // stored with an outdated BCrypt cost → replace it while we have the plain password
+            if (result.upgradedHash() != null) {
+                user.setPassword(result.upgradedHash());
+                userRepository.save(user);
+            }
+
+            String token = jwtService.generateToken(user.getEmail(), user.getRole());
+
+            return ResponseEntity.ok(Map.of(
+                    "message", "Login successful",
+                    "token", token,
+                    "user", Map.of(
+                            "id", user.getId(),
+                            "name", user.getName(),
+                            "email", user.getEmail(),
+                            "role", user.getRole()
+                    )
+            ));
+        }, passwordHashingService.followUpExecutor());
+    }
 
-        return ResponseEntity.ok(Map.of(
-                "message", "Login successful",
-                "token", token,
-                "user", Map.of(
-                        "id", user.getId(),
-                        "name", user.getName(),
-                        "email", user.getEmail(),
-                        "role", user.getRole()
-                )
-        ));
+    private static ResponseEntity<?> tooManyRequests(long waitNanos) {
+        return ResponseEntity.status(429)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(RateLimitFilter.retryAfterSeconds(waitNanos)))
+                .body(Map.of("error", "Too many requests, please retry later"));
     }
 
     // ---------------------- GOOGLE LOGIN ----------------------
@@ -128,6 +180,9 @@ public class AuthController {
 
         String token = authHeader.substring(7);
         String email = jwtService.extractEmail(token);
+        if (email == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "Invalid or expired token"));
+        }
 
         Optional<User> optionalUser = userRepository.findByEmail(email);
         if (optionalUser.isEmpty()) {
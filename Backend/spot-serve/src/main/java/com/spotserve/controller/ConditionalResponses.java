@@ -0,0 +1,46 @@
+package com.spotserve.controller;
+
+import com.spotserve.service.RenderedJson;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Serves a pre-rendered JSON body with its ETag, or a bodyless 304 when
+ * the client's If-None-Match already names that tag. Cache-Control is
+ * no-cache so clients revalidate every time instead of guessing.
+ */
+public final class ConditionalResponses {
+
+    private ConditionalResponses() {}
+
+    public static ResponseEntity<?> of(RenderedJson json, String ifNoneMatch) {
+        if (etagMatches(ifNoneMatch, json.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(json.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(json.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(json.body());
+    }
+
+    // If-None-Match uses weak comparison and may list several tags or "*"
+    static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null)
+            return false;
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/"))
+                tag = tag.substring(2);
+            if (tag.equals("*") || tag.equals(etag))
+                return true;
+        }
+        return false;
+    }
+}
@@ -1,17 +1,22 @@
 package com.spotserve.controller;
 
+import com.spotserve.config.AuthPrincipal;
+import com.spotserve.config.CurrentUser;
 import com.spotserve.model.Feedback;
 import com.spotserve.model.Job;
+import com.spotserve.model.MechanicRatingStats;
 import com.spotserve.model.User;
 import com.spotserve.repository.JobRepository;
+import com.spotserve.repository.KeysetCursor;
 import com.spotserve.repository.UserRepository;
 import com.spotserve.service.FeedbackService;
+import com.spotserve.service.MechanicRatingService;
+import com.spotserve.service.RecentFeedbackCache;
 import com.spotserve.repository.FeedbackRepository;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.*;
@@ -24,6 +29,12 @@ public class FeedbackController {
     @Autowired
     private FeedbackService feedbackService;
 
+    @Autowired
+    private MechanicRatingService mechanicRatingService;
+
+    @Autowired
+    private RecentFeedbackCache recentFeedbackCache;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -40,25 +51,19 @@ public class FeedbackController {
     @PostMapping
     public ResponseEntity<Map<String, Object>> submitFeedback(
             @RequestBody Feedback feedbackRequest,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @CurrentUser AuthPrincipal principal) {
 
         Map<String, Object> response = new HashMap<>();
 
         try {
-            if (userDetails == null) {
+            if (principal == null) {
                 response.put("message", "Unauthorized");
                 return ResponseEntity.status(401).body(response);
             }
 
-            User customer = userRepository.findByEmail(userDetails.getUsername()).orElse(null);
-            if (customer == null) {
-                response.put("message", "Customer not found");
-                return ResponseEntity.status(404).body(response);
-            }
-
             Feedback savedFeedback = feedbackService.submitFeedback(
                     feedbackRequest.getJobId(),
-                    customer.getId(),
+                    principal.id(),
                     feedbackRequest.getRating(),
                     feedbackRequest.getComment()
             );
@@ -84,22 +89,16 @@ public class FeedbackController {
     @GetMapping("/job/{jobId}/details")
     public ResponseEntity<Map<String, Object>> getJobDetailsForFeedback(
             @PathVariable Long jobId,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @CurrentUser AuthPrincipal principal) {
 
         Map<String, Object> response = new HashMap<>();
 
         try {
-            if (userDetails == null) {
+            if (principal == null) {
                 response.put("message", "Unauthorized");
                 return ResponseEntity.status(401).body(response);
             }
 
-            User customer = userRepository.findByEmail(userDetails.getUsername()).orElse(null);
-            if (customer == null) {
-                response.put("message", "Customer not found");
-                return ResponseEntity.status(404).body(response);
-            }
-
             Optional<Job> jobOpt = jobRepository.findById(jobId);
             if (jobOpt.isEmpty()) {
                 response.put("message", "Job not found");
@@ -108,7 +107,7 @@ public class FeedbackController {
 
             Job job = jobOpt.get();
 
-            if (!job.getCustomerId().equals(customer.getId())) {
+            if (!job.getCustomerId().equals(principal.id())) {
                 response.put("message", "Unauthorized: Job does not belong to you");
                 return ResponseEntity.status(403).body(response);
             }
@@ -156,16 +155,28 @@ public class FeedbackController {
     // ✅ 4. Get mechanic feedback (PUBLIC)
     // ============================================================
     @GetMapping("/mechanic/{mechanicId}")
-    public ResponseEntity<Map<String, Object>> getMechanicFeedback(@PathVariable Long mechanicId) {
+    public ResponseEntity<Map<String, Object>> getMechanicFeedback(
+            @PathVariable Long mechanicId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         Map<String, Object> response = new HashMap<>();
 
         try {
-            List<Feedback> feedbackList = feedbackService.getMechanicFeedback(mechanicId);
-            Double averageRating = feedbackService.getMechanicAverageRating(mechanicId);
+            KeysetCursor.Page<Feedback> page;
+            try {
+                page = feedbackService.pageByMechanic(mechanicId,
+                        KeysetCursor.decode(cursor), KeysetCursor.clampLimit(limit));
+            } catch (IllegalArgumentException e) {
+                response.put("message", e.getMessage());
+                return ResponseEntity.badRequest().body(response);
+            }
+            MechanicRatingStats stats = mechanicRatingService.statsOf(mechanicId);
 
-            response.put("feedback", feedbackList);
-            response.put("averageRating", averageRating);
-            response.put("totalCount", feedbackList.size());
+            response.put("feedback", page.items());
+            response.put("nextCursor", page.nextCursor());
+            response.put("averageRating", stats.getAverage());
+            response.put("totalCount", stats.getRatingCount());
+            response.put("histogram", stats.getHistogram());
 
             return ResponseEntity.ok(response);
 
@@ -182,21 +193,19 @@ public class FeedbackController {
     // ==================================================================
 
     // ============================================================
-    // ✅ 5. Admin – Get all feedback with names
+    // ✅ 5. Admin – Get all feedback with names, newest first (?cursor=&limit=)
     // ============================================================
     @GetMapping("/admin/all")
-    public ResponseEntity<?> getAllFeedbackAdmin() {
-        List<Feedback> list = feedbackRepository.findAll();
-
-        list.forEach(f -> {
-            userRepository.findById(f.getCustomerId())
-                    .ifPresent(c -> f.setCustomerName(c.getName()));
-
-            userRepository.findById(f.getMechanicId())
-                    .ifPresent(m -> f.setMechanicName(m.getName()));
-        });
+    public ResponseEntity<?> getAllFeedbackAdmin(@RequestParam(required = false) String cursor,
+                                                 @RequestParam(required = false) Integer limit) {
+        KeysetCursor.Page<Feedback> page;
+        try {
+            page = feedbackService.pageAll(KeysetCursor.decode(cursor), KeysetCursor.clampLimit(limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
 
-        return ResponseEntity.ok(list);
+        return PageResponses.of(page.items(), page.nextCursor());
     }
 
 
@@ -212,34 +221,28 @@ public class FeedbackController {
         }
 
         Feedback f = fOpt.get();
-
-        userRepository.findById(f.getCustomerId())
-                .ifPresent(c -> f.setCustomerName(c.getName()));
-
-        userRepository.findById(f.getMechanicId())
-                .ifPresent(m -> f.setMechanicName(m.getName()));
+        feedbackService.enrichFeedback(f);
 
         return ResponseEntity.ok(f);
     }
 
 
     // ============================================================
-    // ✅ 7. Admin – Get feedback of a mechanic (with names)
+    // ✅ 7. Admin – Get feedback of a mechanic (with names), newest first (?cursor=&limit=)
     // ============================================================
     @GetMapping("/admin/mechanic/{mechanicId}")
-    public ResponseEntity<?> getFeedbackForMechanicAdmin(@PathVariable Long mechanicId) {
-
-        List<Feedback> list = feedbackRepository.findByMechanicId(mechanicId);
-
-        list.forEach(f -> {
-            userRepository.findById(f.getCustomerId())
-                    .ifPresent(c -> f.setCustomerName(c.getName()));
-
-            userRepository.findById(f.getMechanicId())
-                    .ifPresent(m -> f.setMechanicName(m.getName()));
-        });
+    public ResponseEntity<?> getFeedbackForMechanicAdmin(@PathVariable Long mechanicId,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(required = false) Integer limit) {
+        KeysetCursor.Page<Feedback> page;
+        try {
+            page = feedbackService.pageByMechanic(mechanicId,
+                    KeysetCursor.decode(cursor), KeysetCursor.clampLimit(limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
 
-        return ResponseEntity.ok(list);
+        return PageResponses.of(page.items(), page.nextCursor());
     }
 
 
@@ -249,31 +252,21 @@ public class FeedbackController {
     @DeleteMapping("/admin/delete/{id}")
     public ResponseEntity<?> deleteFeedbackAdmin(@PathVariable Long id) {
 
-        if (!feedbackRepository.existsById(id)) {
+        if (!feedbackService.deleteFeedback(id)) {
             return ResponseEntity.status(404).body("Feedback not found");
         }
 
-        feedbackRepository.deleteById(id);
         return ResponseEntity.ok("Feedback deleted successfully");
     }
     
  // ============================================================
  // ✅ PUBLIC – Get latest 10 feedback for homepage
+ //    (pre-rendered; revalidate with If-None-Match for a 304)
  // ============================================================
  @GetMapping("/public/recent")
- public ResponseEntity<?> getRecentFeedback() {
-     List<Feedback> list = feedbackRepository
-             .findTop10ByOrderByCreatedAtDesc();
-
-     // Add names for UI display
-     list.forEach(fb -> {
-         userRepository.findById(fb.getCustomerId())
-                 .ifPresent(user -> fb.setCustomerName(user.getName()));
-         userRepository.findById(fb.getMechanicId())
-                 .ifPresent(user -> fb.setMechanicName(user.getName()));
-     });
-
-     return ResponseEntity.ok(list);
+ public ResponseEntity<?> getRecentFeedback(
+         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+     return ConditionalResponses.of(recentFeedbackCache.get().json(), ifNoneMatch);
  }
 
 }
@@ -0,0 +1,28 @@
+package com.spotserve.controller;
+
+import com.spotserve.service.PasswordHashingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+/**
+ * Turns a full password-hashing queue into 503 + Retry-After for every
+ * endpoint that hashes (login, register, password changes).
+ */
+@RestControllerAdvice
+public class HashingBusyHandler {
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @ExceptionHandler(PasswordHashingService.HashingBusyException.class)
+    public ResponseEntity<?> handleBusy(PasswordHashingService.HashingBusyException e) {
+        return ResponseEntity.status(503)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(passwordHashingService.getRetryAfterSeconds()))
+                .body(Map.of("error", "Server is busy, please try again shortly"));
+    }
+}
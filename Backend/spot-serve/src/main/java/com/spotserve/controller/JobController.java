@@ -1,18 +1,28 @@
 package com.spotserve.controller;
 
+import com.spotserve.config.AuthPrincipal;
+import com.spotserve.config.CurrentUser;
 import com.spotserve.model.Job;
-import com.spotserve.model.ServiceEntity;
+import com.spotserve.model.JobStatus;
 import com.spotserve.model.User;
 import com.spotserve.repository.JobRepository;
+import com.spotserve.repository.JobSummary;
+import com.spotserve.repository.KeysetCursor;
 import com.spotserve.repository.UserRepository;
+import com.spotserve.service.JobClaimService;
+import com.spotserve.service.JobFeedService;
+import com.spotserve.service.PendingJobIndex;
+import com.spotserve.service.ServiceCatalog;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @RestController
@@ -26,19 +36,34 @@ public class JobController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PendingJobIndex pendingJobIndex;
+
+    @Autowired
+    private JobFeedService jobFeedService;
+
+    @Autowired
+    private JobClaimService jobClaimService;
+
+    @Autowired
+    private ServiceCatalog serviceCatalog;
+
     /* ======================================================
        🔥 Helper: attach serviceName + baseAmount to job
+          (from the in-memory catalog, so the lazy service is never loaded)
     ====================================================== */
     private void enrichJob(Job job) {
         try {
-            ServiceEntity service = job.getService();
+            ServiceCatalog.Item service = serviceCatalog.find(job.getServiceId());
 
             if (service != null) {
-                if (service.getName() != null)
-                    job.setServiceName(service.getName());
+                job.setService(service.toEntity());
+
+                if (service.name() != null)
+                    job.setServiceName(service.name());
 
-                if (service.getBasePrice() != null)
-                    job.setBaseAmount(service.getBasePrice());
+                if (service.basePrice() != null)
+                    job.setBaseAmount(service.basePrice());
             }
 
             // fallback if nothing found
@@ -52,26 +77,23 @@ public class JobController {
        ✅ 1. Get all jobs of logged-in customer
     ====================================================== */
     @GetMapping
-    public ResponseEntity<List<Job>> getCustomerJobs(@AuthenticationPrincipal UserDetails userDetails) {
-        if (userDetails == null)
+    public ResponseEntity<List<JobSummary>> getCustomerJobs(@CurrentUser AuthPrincipal principal,
+                                                     @RequestParam(required = false) String status,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer limit) {
+        if (principal == null)
             return ResponseEntity.status(401).build();
 
-        User user = userRepository.findByEmail(userDetails.getUsername()).orElse(null);
-        if (user == null)
-            return ResponseEntity.notFound().build();
-
-        List<Job> jobs = jobRepository.findByCustomerId(user.getId());
-
-        jobs.forEach(job -> {
-            enrichJob(job);
-
-            // ensure payment URL included
-            if (job.getPaymentUrl() != null && !job.getPaymentUrl().isBlank()) {
-                job.setPaymentUrl(job.getPaymentUrl());
-            }
-        });
+        // one joined query: service name / price come with the rows, no per-job lookups
+        KeysetCursor.Page<JobSummary> page;
+        try {
+            page = jobRepository.pageByCustomer(principal.id(), PageResponses.statusFilter(status),
+                    KeysetCursor.decode(cursor), KeysetCursor.clampLimit(limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
 
-        return ResponseEntity.ok(jobs);
+        return PageResponses.of(page.items(), page.nextCursor());
     }
 
     /* ======================================================
@@ -89,8 +111,10 @@ public class JobController {
             if (job.getVehicleId() == null)
                 return ResponseEntity.badRequest().body("{\"message\": \"Vehicle ID missing\"}");
 
-            job.setStatus("Pending");
+            job.setStatus(JobStatus.PENDING);
             Job savedJob = jobRepository.save(job);
+            pendingJobIndex.add(savedJob);
+            jobFeedService.publishCreated(savedJob);
 
             return ResponseEntity.ok(
                     "{\"message\": \"Service request created successfully!\", \"jobId\": " + savedJob.getId() + "}"
@@ -108,27 +132,21 @@ public class JobController {
     ====================================================== */
     @PutMapping("/{id}/cancel")
     public ResponseEntity<?> cancelJob(@PathVariable Long id,
-                                       @AuthenticationPrincipal UserDetails userDetails) {
+                                       @CurrentUser AuthPrincipal principal) {
 
-        if (userDetails == null)
+        if (principal == null)
             return ResponseEntity.status(401).body("Unauthorized");
 
-        User user = userRepository.findByEmail(userDetails.getUsername()).orElse(null);
-        if (user == null)
-            return ResponseEntity.status(404).body("User not found");
-
-        Job job = jobRepository.findById(id).orElse(null);
-        if (job == null)
-            return ResponseEntity.status(404).body("Job not found");
-
-        if (!job.getCustomerId().equals(user.getId()))
-            return ResponseEntity.status(403).body("Access denied");
-
-        if (!"Pending".equalsIgnoreCase(job.getStatus()))
-            return ResponseEntity.badRequest().body("Only pending jobs can be cancelled");
-
-        job.setStatus("Cancelled");
-        jobRepository.save(job);
+        switch (jobClaimService.cancel(id, principal.id())) {
+            case NOT_FOUND:
+                return ResponseEntity.status(404).body("Job not found");
+            case FORBIDDEN:
+                return ResponseEntity.status(403).body("Access denied");
+            case NOT_PENDING:
+                return ResponseEntity.status(409).body("Only pending jobs can be cancelled");
+            default:
+                break;
+        }
 
         return ResponseEntity.ok("{\"message\": \"Job cancelled successfully\"}");
     }
@@ -137,7 +155,9 @@ public class JobController {
        ✅ 4. Available jobs for mechanics
     ====================================================== */
     @GetMapping("/available")
-    public ResponseEntity<List<Job>> getAvailableJobsForMechanic(@AuthenticationPrincipal UserDetails userDetails) {
+    public ResponseEntity<List<Job>> getAvailableJobsForMechanic(@AuthenticationPrincipal UserDetails userDetails,
+                                                                 @RequestParam(required = false) Double radiusKm,
+                                                                 @RequestParam(required = false) Integer limit) {
 
         if (userDetails == null)
             return ResponseEntity.status(401).build();
@@ -146,33 +166,37 @@ public class JobController {
         if (mechanic == null)
             return ResponseEntity.notFound().build();
 
-        List<Job> pendingJobs = jobRepository.findByStatus("Pending").stream()
-                .filter(job -> job.getMechanicId() == null)
-                .filter(job -> !"Cancelled".equalsIgnoreCase(job.getStatus()))
-                .filter(job -> !"Completed".equalsIgnoreCase(job.getStatus()))
-                .collect(Collectors.toList());
-
         double mechLat = mechanic.getLatitude() != null ? mechanic.getLatitude() : 0.0;
         double mechLng = mechanic.getLongitude() != null ? mechanic.getLongitude() : 0.0;
 
-        for (Job job : pendingJobs) {
+        // Nearest-first hits straight from the in-memory grid; only the matched rows are loaded
+        List<PendingJobIndex.Hit> hits;
+        if (radiusKm != null && radiusKm > 0)
+            hits = pendingJobIndex.nearest(mechLat, mechLng, radiusKm,
+                    limit != null && limit > 0 ? limit : Integer.MAX_VALUE);
+        else
+            hits = pendingJobIndex.findAll(mechLat, mechLng);
+
+        Map<Long, Job> jobsById = jobRepository.findAllById(
+                hits.stream().map(PendingJobIndex.Hit::jobId).collect(Collectors.toList())
+        ).stream().collect(Collectors.toMap(Job::getId, Function.identity()));
+
+        List<Job> pendingJobs = new ArrayList<>(hits.size());
+        for (PendingJobIndex.Hit hit : hits) {
+            Job job = jobsById.get(hit.jobId());
+            if (job == null || job.getMechanicId() != null || job.getStatus() != JobStatus.PENDING)
+                continue;
 
             // Display distance in description
             if (job.getPickupLat() != null && job.getPickupLng() != null) {
-                double distance = haversine(mechLat, mechLng, job.getPickupLat(), job.getPickupLng());
                 job.setDescription((job.getDescription() != null ? job.getDescription() : "")
-                        + " (" + String.format("%.2f km away", distance) + ")");
+                        + " (" + String.format("%.2f km away", hit.distanceKm()) + ")");
             }
 
             enrichJob(job);
+            pendingJobs.add(job);
         }
 
-        pendingJobs.sort(Comparator.comparingDouble(job -> {
-            if (job.getPickupLat() == null || job.getPickupLng() == null)
-                return Double.MAX_VALUE;
-            return haversine(mechLat, mechLng, job.getPickupLat(), job.getPickupLng());
-        }));
-
         return ResponseEntity.ok(pendingJobs);
     }
 
@@ -181,25 +205,19 @@ public class JobController {
     ====================================================== */
     @PutMapping("/{jobId}/accept")
     public ResponseEntity<?> acceptJob(@PathVariable Long jobId,
-                                       @AuthenticationPrincipal UserDetails userDetails) {
+                                       @CurrentUser AuthPrincipal principal) {
 
-        if (userDetails == null)
+        if (principal == null)
             return ResponseEntity.status(401).body("Unauthorized");
 
-        User mechanic = userRepository.findByEmail(userDetails.getUsername()).orElse(null);
-        if (mechanic == null)
-            return ResponseEntity.status(404).body("Mechanic not found");
-
-        Job job = jobRepository.findById(jobId).orElse(null);
-        if (job == null)
-            return ResponseEntity.status(404).body("Job not found");
-
-        if (!"Pending".equalsIgnoreCase(job.getStatus()))
-            return ResponseEntity.badRequest().body("Job already accepted or completed");
-
-        job.setStatus("Accepted");
-        job.setMechanicId(mechanic.getId());
-        jobRepository.save(job);
+        switch (jobClaimService.claim(jobId, principal.id())) {
+            case NOT_FOUND:
+                return ResponseEntity.status(404).body("Job not found");
+            case ALREADY_TAKEN:
+                return ResponseEntity.badRequest().body("Job already accepted or completed");
+            default:
+                break;
+        }
 
         return ResponseEntity.ok("{\"message\": \"Job accepted successfully\"}");
     }
@@ -208,20 +226,23 @@ public class JobController {
        ✅ 6. Get accepted jobs for mechanic
     ====================================================== */
     @GetMapping("/accepted")
-    public ResponseEntity<List<Job>> getAcceptedJobs(@AuthenticationPrincipal UserDetails userDetails) {
+    public ResponseEntity<List<JobSummary>> getAcceptedJobs(@CurrentUser AuthPrincipal principal,
+                                                     @RequestParam(required = false) String status,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer limit) {
 
-        if (userDetails == null)
+        if (principal == null)
             return ResponseEntity.status(401).build();
 
-        User mechanic = userRepository.findByEmail(userDetails.getUsername()).orElse(null);
-        if (mechanic == null)
-            return ResponseEntity.notFound().build();
-
-        List<Job> acceptedJobs = jobRepository.findByMechanicId(mechanic.getId());
-
-        acceptedJobs.forEach(this::enrichJob);
+        KeysetCursor.Page<JobSummary> page;
+        try {
+            page = jobRepository.pageByMechanic(principal.id(), PageResponses.statusFilter(status),
+                    KeysetCursor.decode(cursor), KeysetCursor.clampLimit(limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
 
-        return ResponseEntity.ok(acceptedJobs);
+        return PageResponses.of(page.items(), page.nextCursor());
     }
 
     /* ======================================================
@@ -229,20 +250,16 @@ public class JobController {
     ====================================================== */
     @PutMapping("/{jobId}/start")
     public ResponseEntity<?> startJob(@PathVariable Long jobId,
-                                      @AuthenticationPrincipal UserDetails userDetails) {
+                                      @CurrentUser AuthPrincipal principal) {
 
-        if (userDetails == null)
+        if (principal == null)
             return ResponseEntity.status(401).body("Unauthorized");
 
-        User mechanic = userRepository.findByEmail(userDetails.getUsername()).orElse(null);
-        if (mechanic == null)
-            return ResponseEntity.status(404).body("Mechanic not found");
-
         Job job = jobRepository.findById(jobId).orElse(null);
         if (job == null)
             return ResponseEntity.status(404).body("Job not found");
 
-        if (!"Accepted".equalsIgnoreCase(job.getStatus()))
+        if (job.getStatus() != JobStatus.ACCEPTED)
             return ResponseEntity.badRequest().body("{\"message\": \"Job not in accepted state\"}");
 
         if (job.getOtpCode() != null)
@@ -260,20 +277,16 @@ public class JobController {
     ====================================================== */
     @GetMapping("/{jobId}/otp")
     public ResponseEntity<?> getCustomerOtp(@PathVariable Long jobId,
-                                            @AuthenticationPrincipal UserDetails userDetails) {
+                                            @CurrentUser AuthPrincipal principal) {
 
-        if (userDetails == null)
+        if (principal == null)
             return ResponseEntity.status(401).body("Unauthorized");
 
-        User customer = userRepository.findByEmail(userDetails.getUsername()).orElse(null);
-        if (customer == null)
-            return ResponseEntity.status(404).body("Customer not found");
-
         Job job = jobRepository.findById(jobId).orElse(null);
         if (job == null)
             return ResponseEntity.status(404).body("Job not found");
 
-        if (!job.getCustomerId().equals(customer.getId()))
+        if (!job.getCustomerId().equals(principal.id()))
             return ResponseEntity.status(403).body("Access denied");
 
         if (job.getOtpCode() == null)
@@ -297,13 +310,13 @@ public class JobController {
         if (job == null)
             return ResponseEntity.status(404).body("Job not found");
 
-        if (!"Accepted".equalsIgnoreCase(job.getStatus()))
+        if (job.getStatus() != JobStatus.ACCEPTED)
             return ResponseEntity.badRequest().body("{\"message\": \"Job not ready for OTP verification\"}");
 
         if (!otp.equals(job.getOtpCode()))
             return ResponseEntity.badRequest().body("{\"message\": \"Invalid OTP\"}");
 
-        job.setStatus("Ongoing");
+        job.transitionTo(JobStatus.ONGOING);
         job.setOtpCode(null);
         jobRepository.save(job);
 
@@ -324,29 +337,37 @@ public class JobController {
         if (job == null)
             return ResponseEntity.status(404).body("Job not found");
 
-        if (!"Ongoing".equalsIgnoreCase(job.getStatus()))
+        if (job.getStatus() != JobStatus.ONGOING)
             return ResponseEntity.badRequest().body("Job not in progress");
 
-        job.setStatus("Completed");
+        job.transitionTo(JobStatus.COMPLETED);
         jobRepository.save(job);
 
         return ResponseEntity.ok("{\"message\": \"Job completed successfully\"}");
     }
 
     /* ======================================================
-       🔧 Utility — Distance Calculation (Haversine)
+       ✅ 11. Get one job with full details
     ====================================================== */
-    private double haversine(double lat1, double lon1, double lat2, double lon2) {
-        final int R = 6371;
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLon = Math.toRadians(lon2 - lon1);
-        double a =
-                Math.sin(dLat / 2) * Math.sin(dLat / 2)
-                        + Math.cos(Math.toRadians(lat1))
-                        * Math.cos(Math.toRadians(lat2))
-                        * Math.sin(dLon / 2)
-                        * Math.sin(dLon / 2);
-
-        return 2 * R * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    @GetMapping("/{jobId}")
+    public ResponseEntity<?> getJob(@PathVariable Long jobId,
+                                    @CurrentUser AuthPrincipal principal) {
+
+        if (principal == null)
+            return ResponseEntity.status(401).body("Unauthorized");
+
+        Job job = jobRepository.findById(jobId).orElse(null);
+        if (job == null)
+            return ResponseEntity.status(404).body("Job not found");
+
+        // the customer who booked it, the mechanic working it, or an admin
+        boolean allowed = principal.id().equals(job.getCustomerId())
+                || principal.id().equals(job.getMechanicId())
+                || principal.hasRole("ADMIN");
+        if (!allowed)
+            return ResponseEntity.status(403).body("Access denied");
+
+        enrichJob(job);
+        return ResponseEntity.ok(job);
     }
 }
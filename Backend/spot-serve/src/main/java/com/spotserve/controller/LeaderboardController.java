@@ -0,0 +1,76 @@
+package com.spotserve.controller;
+
+import com.spotserve.service.MechanicLeaderboard;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/leaderboard")
+@CrossOrigin(origins = "*")
+public class LeaderboardController {
+
+    @Autowired
+    private MechanicLeaderboard mechanicLeaderboard;
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 100;
+    private static final double MAX_RADIUS_KM = 100.0;
+
+    // ✅ 1. Top mechanics overall (?limit=10)
+    @GetMapping("/mechanics")
+    public ResponseEntity<?> getTopMechanics(@RequestParam(required = false) Integer limit,
+                                             @AuthenticationPrincipal UserDetails userDetails) {
+        if (userDetails == null)
+            return ResponseEntity.status(401).body("Unauthorized");
+
+        return ResponseEntity.ok(toRows(mechanicLeaderboard.top(clampLimit(limit))));
+    }
+
+    // ✅ 2. Top mechanics near a point (?lat=..&lng=..&radiusKm=25&limit=10)
+    @GetMapping("/mechanics/nearby")
+    public ResponseEntity<?> getTopMechanicsNearby(@RequestParam double lat,
+                                                   @RequestParam double lng,
+                                                   @RequestParam(defaultValue = "25") double radiusKm,
+                                                   @RequestParam(required = false) Integer limit,
+                                                   @AuthenticationPrincipal UserDetails userDetails) {
+        if (userDetails == null)
+            return ResponseEntity.status(401).body("Unauthorized");
+
+        if (lat < -90 || lat > 90 || lng < -180 || lng > 180 || !(radiusKm > 0))
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid location or radius"));
+
+        return ResponseEntity.ok(toRows(mechanicLeaderboard.topNear(
+                lat, lng, Math.min(radiusKm, MAX_RADIUS_KM), clampLimit(limit))));
+    }
+
+    private static int clampLimit(Integer limit) {
+        return limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    private static List<Map<String, Object>> toRows(List<MechanicLeaderboard.Ranked> ranked) {
+        List<Map<String, Object>> rows = new ArrayList<>(ranked.size());
+        for (MechanicLeaderboard.Ranked r : ranked) {
+            MechanicLeaderboard.Standing s = r.standing();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("rank", r.rank());
+            row.put("mechanicId", s.mechanicId());
+            row.put("name", s.name());
+            row.put("score", Math.round(s.score() * 1000.0) / 1000.0);
+            row.put("averageRating", Math.round(s.averageRating() * 10.0) / 10.0);
+            row.put("totalRatings", s.ratingCount());
+            row.put("completedJobs", s.completedJobs());
+            if (r.distanceKm() != null)
+                row.put("distanceKm", Math.round(r.distanceKm() * 100.0) / 100.0);
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -1,17 +1,26 @@
 package com.spotserve.controller;
 
+import com.spotserve.config.AuthPrincipal;
+import com.spotserve.config.CurrentUser;
 import com.spotserve.model.Job;
 import com.spotserve.model.User;
 import com.spotserve.repository.JobRepository;
+import com.spotserve.repository.JobSummary;
+import com.spotserve.repository.KeysetCursor;
 import com.spotserve.repository.UserRepository;
+import com.spotserve.service.JobClaimService;
+import com.spotserve.service.JobFeedService;
+import com.spotserve.service.MechanicLocationRegistry;
+import com.spotserve.service.PendingJobIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.*;
-import static java.lang.Math.*;
 
 @RestController
 @RequestMapping("/api/mechanic")
@@ -24,23 +33,27 @@ public class MechanicController {
     @Autowired
     private UserRepository userRepository;
 
-    private static final double EARTH_RADIUS_KM = 6371.0;
-
-    // --- Helper for Haversine distance formula ---
-    private double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        double dLat = toRadians(lat2 - lat1);
-        double dLon = toRadians(lon2 - lon1);
-        lat1 = toRadians(lat1);
-        lat2 = toRadians(lat2);
-        double a = sin(dLat / 2) * sin(dLat / 2)
-                + sin(dLon / 2) * sin(dLon / 2) * cos(lat1) * cos(lat2);
-        double c = 2 * atan2(sqrt(a), sqrt(1 - a));
-        return EARTH_RADIUS_KM * c;
-    }
+    @Autowired
+    private PendingJobIndex pendingJobIndex;
+
+    @Autowired
+    private JobFeedService jobFeedService;
+
+    @Autowired
+    private JobClaimService jobClaimService;
 
-    // ✅ Get nearby jobs (within 10km)
+    @Autowired
+    private MechanicLocationRegistry locationRegistry;
+
+    private static final double MAX_RADIUS_KM = 50.0;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // ✅ Get nearby jobs (default within 10km), nearest first, paged in the database
     @GetMapping("/available-jobs")
-    public ResponseEntity<?> getNearbyJobs(@AuthenticationPrincipal UserDetails userDetails) {
+    public ResponseEntity<?> getNearbyJobs(@AuthenticationPrincipal UserDetails userDetails,
+                                           @RequestParam(defaultValue = "10") double radiusKm,
+                                           @RequestParam(defaultValue = "50") int limit,
+                                           @RequestParam(defaultValue = "0") int offset) {
         if (userDetails == null)
             return ResponseEntity.status(401).body("Unauthorized");
 
@@ -51,74 +64,129 @@ public class MechanicController {
         if (mechanic.getLatitude() == null || mechanic.getLongitude() == null)
             return ResponseEntity.badRequest().body("Mechanic location not set");
 
-        List<Job> pendingJobs = jobRepository.findByStatus("Pending");
+        radiusKm = Math.min(Math.max(radiusKm, 0.0), MAX_RADIUS_KM);
+        limit = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        offset = Math.max(offset, 0);
+
+        List<JobRepository.NearbyJob> rows = jobRepository.findPendingNearby(
+                mechanic.getLatitude(), mechanic.getLongitude(), radiusKm, limit, offset);
+
+        Map<Long, Job> jobsById = new HashMap<>();
+        jobRepository.findAllById(rows.stream().map(JobRepository.NearbyJob::getId).toList())
+                .forEach(job -> jobsById.put(job.getId(), job));
+
         List<Map<String, Object>> nearbyJobs = new ArrayList<>();
 
-        for (Job job : pendingJobs) {
-            if (job.getPickupLat() == null || job.getPickupLng() == null)
+        for (JobRepository.NearbyJob row : rows) {
+            Job job = jobsById.get(row.getId());
+            if (job == null)
                 continue;
 
-            double distance = calculateDistance(
-                    mechanic.getLatitude(),
-                    mechanic.getLongitude(),
-                    job.getPickupLat(),
-                    job.getPickupLng()
-            );
-
-            if (distance <= 10.0) { // within 10 km radius
-                Map<String, Object> map = new HashMap<>();
-                map.put("id", job.getId());
-                map.put("description", job.getDescription());
-                map.put("distanceKm", String.format("%.2f", distance));
-                map.put("status", job.getStatus());
-                map.put("location", job.getLocation());
-                map.put("createdAt", job.getCreatedAt());
-                nearbyJobs.add(map);
-            }
+            Map<String, Object> map = new HashMap<>();
+            map.put("id", job.getId());
+            map.put("description", job.getDescription());
+            map.put("distanceKm", String.format("%.2f", row.getDistanceKm()));
+            map.put("status", job.getStatus());
+            map.put("location", job.getLocation());
+            map.put("createdAt", job.getCreatedAt());
+            nearbyJobs.add(map);
         }
 
         return ResponseEntity.ok(nearbyJobs);
     }
 
-    // ✅ Mechanic accepts a job
-    @PutMapping("/accept-job/{jobId}")
-    public ResponseEntity<?> acceptJob(
-            @PathVariable Long jobId,
-            @AuthenticationPrincipal UserDetails userDetails
-    ) {
+    // ✅ Live feed of new / retracted jobs near the mechanic (Server-Sent Events)
+    @GetMapping(value = "/jobs/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamNearbyJobs(@AuthenticationPrincipal UserDetails userDetails,
+                                                       @RequestParam(required = false) Double lat,
+                                                       @RequestParam(required = false) Double lng,
+                                                       @RequestParam(defaultValue = "10") double radiusKm) {
         if (userDetails == null)
-            return ResponseEntity.status(401).body("Unauthorized");
+            return ResponseEntity.status(401).build();
 
         User mechanic = userRepository.findByEmail(userDetails.getUsername()).orElse(null);
         if (mechanic == null)
-            return ResponseEntity.status(404).body("Mechanic not found");
+            return ResponseEntity.status(404).build();
+
+        // fall back to the profile location when the client doesn't send one
+        if (lat == null) lat = mechanic.getLatitude();
+        if (lng == null) lng = mechanic.getLongitude();
+        if (lat == null || lng == null)
+            return ResponseEntity.badRequest().build();
+
+        radiusKm = Math.min(Math.max(radiusKm, 0.0), MAX_RADIUS_KM);
+
+        return ResponseEntity.ok(jobFeedService.subscribe(mechanic.getId(), lat, lng, radiusKm));
+    }
+
+    // ✅ High-frequency GPS ping — kept in memory, persisted in periodic batches
+    @PostMapping("/location")
+    public ResponseEntity<?> updateLocation(@CurrentUser AuthPrincipal principal,
+                                            @RequestBody LocationPing ping) {
+        if (principal == null)
+            return ResponseEntity.status(401).body("Unauthorized");
 
-        Optional<Job> jobOpt = jobRepository.findById(jobId);
-        if (jobOpt.isEmpty())
-            return ResponseEntity.status(404).body("Job not found");
+        if (!principal.hasRole("MECHANIC"))
+            return ResponseEntity.status(403).body("Only mechanics can report location");
+
+        if (ping == null || ping.getLat() == null || ping.getLng() == null
+                || Math.abs(ping.getLat()) > 90 || Math.abs(ping.getLng()) > 180)
+            return ResponseEntity.badRequest().body("Invalid coordinates");
+
+        locationRegistry.update(principal.id(), ping.getLat(), ping.getLng());
+        return ResponseEntity.accepted().build();
+    }
 
-        Job job = jobOpt.get();
-        if (!"Pending".equalsIgnoreCase(job.getStatus()))
-            return ResponseEntity.badRequest().body("Job already taken");
+    // ✅ Mechanic accepts a job
+    @PutMapping("/accept-job/{jobId}")
+    public ResponseEntity<?> acceptJob(
+            @PathVariable Long jobId,
+            @CurrentUser AuthPrincipal principal
+    ) {
+        if (principal == null)
+            return ResponseEntity.status(401).body("Unauthorized");
 
-        job.setMechanicId(mechanic.getId());
-        job.setStatus("Accepted");
-        jobRepository.save(job);
+        switch (jobClaimService.claim(jobId, principal.id())) {
+            case NOT_FOUND:
+                return ResponseEntity.status(404).body("Job not found");
+            case ALREADY_TAKEN:
+                return ResponseEntity.badRequest().body("Job already taken");
+            default:
+                break;
+        }
 
         return ResponseEntity.ok("Job accepted successfully!");
     }
 
     // ✅ Get jobs assigned to logged-in mechanic
     @GetMapping("/my-jobs")
-    public ResponseEntity<?> getMyJobs(@AuthenticationPrincipal UserDetails userDetails) {
-        if (userDetails == null)
+    public ResponseEntity<?> getMyJobs(@CurrentUser AuthPrincipal principal,
+                                       @RequestParam(required = false) String status,
+                                       @RequestParam(required = false) String cursor,
+                                       @RequestParam(required = false) Integer limit) {
+        if (principal == null)
             return ResponseEntity.status(401).body("Unauthorized");
 
-        User mechanic = userRepository.findByEmail(userDetails.getUsername()).orElse(null);
-        if (mechanic == null)
-            return ResponseEntity.status(404).body("Mechanic not found");
+        KeysetCursor.Page<JobSummary> page;
+        try {
+            page = jobRepository.pageByMechanic(principal.id(), PageResponses.statusFilter(status),
+                    KeysetCursor.decode(cursor), KeysetCursor.clampLimit(limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        return PageResponses.of(page.items(), page.nextCursor());
+    }
+
+    // ✅ Static inner class for location pings
+    public static class LocationPing {
+        private Double lat;
+        private Double lng;
+
+        public Double getLat() { return lat; }
+        public void setLat(Double lat) { this.lat = lat; }
 
-        List<Job> jobs = jobRepository.findByMechanicId(mechanic.getId());
-        return ResponseEntity.ok(jobs);
+        public Double getLng() { return lng; }
+        public void setLng(Double lng) { this.lng = lng; }
     }
 }
@@ -1,14 +1,17 @@
 package com.spotserve.controller;
 
+import com.spotserve.config.PrincipalCache;
 import com.spotserve.model.User;
 import com.spotserve.repository.UserRepository;
+import com.spotserve.service.PasswordHashingService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/mechanic")
 @CrossOrigin(origins = "*")
@@ -18,7 +21,10 @@ public class MechanicProfileController {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private PrincipalCache principalCache;
 
     /* ======================================================
        ✅ 1. Get Logged-in Mechanic Profile
@@ -39,28 +45,35 @@ public class MechanicProfileController {
        ✅ 2. Update Mechanic Profile (Name + Password only)
     ====================================================== */
     @PutMapping("/profile")
-    public ResponseEntity<?> updateProfile(
+    public CompletableFuture<ResponseEntity<?>> updateProfile(
             @AuthenticationPrincipal UserDetails userDetails,
             @RequestBody User updatedUser
     ) {
         if (userDetails == null)
-            return ResponseEntity.status(401).body("Unauthorized");
+            return CompletableFuture.completedFuture(ResponseEntity.status(401).body("Unauthorized"));
 
         User mechanic = userRepository.findByEmail(userDetails.getUsername()).orElse(null);
         if (mechanic == null)
-            return ResponseEntity.status(404).body("Mechanic not found");
+            return CompletableFuture.completedFuture(ResponseEntity.status(404).body("Mechanic not found"));
 
         // ✅ Update name if provided
         if (updatedUser.getName() != null && !updatedUser.getName().isBlank()) {
             mechanic.setName(updatedUser.getName());
         }
 
-        // ✅ Update password if provided
-        if (updatedUser.getPassword() != null && !updatedUser.getPassword().isBlank()) {
-            mechanic.setPassword(passwordEncoder.encode(updatedUser.getPassword()));
-        }
+        // ✅ Update password if provided (hashed on the password pool)
+        CompletableFuture<String> newHash =
+                (updatedUser.getPassword() != null && !updatedUser.getPassword().isBlank())
+                        ? passwordHashingService.encode(updatedUser.getPassword())
+                        : CompletableFuture.completedFuture(null);
+
+        return newHash.thenApplyAsync(hash -> {
+            if (hash != null)
+                mechanic.setPassword(hash);
 
-        userRepository.save(mechanic);
-        return ResponseEntity.ok("{\"message\": \"Profile updated successfully!\"}");
+            userRepository.save(mechanic);
+            principalCache.evict(mechanic.getEmail());
+            return ResponseEntity.ok("{\"message\": \"Profile updated successfully!\"}");
+        }, passwordHashingService.followUpExecutor());
     }
 }
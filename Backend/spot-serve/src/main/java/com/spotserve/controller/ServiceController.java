@@ -2,9 +2,11 @@ package com.spotserve.controller;
 
 import com.spotserve.model.ServiceEntity;
 import com.spotserve.repository.ServiceRepository;
+import com.spotserve.service.ServiceCatalog;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/services")
@@ -14,15 +16,21 @@ public class ServiceController {
     @Autowired
     private ServiceRepository serviceRepository;
 
-    // ✅ Get all available services
+    @Autowired
+    private ServiceCatalog serviceCatalog;
+
+    // ✅ Get all available services (from the in-memory catalog; 304 on a matching If-None-Match)
     @GetMapping
-    public List<ServiceEntity> getAllServices() {
-        return serviceRepository.findAll();
+    public ResponseEntity<?> getAllServices(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return ConditionalResponses.of(serviceCatalog.snapshot().json(), ifNoneMatch);
     }
 
     // ✅ Optional: Add new service (for seeding)
     @PostMapping
     public ServiceEntity addService(@RequestBody ServiceEntity service) {
-        return serviceRepository.save(service);
+        ServiceEntity saved = serviceRepository.save(service);
+        serviceCatalog.reload();
+        return saved;
     }
 }
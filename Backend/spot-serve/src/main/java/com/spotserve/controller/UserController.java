@@ -1,14 +1,17 @@
 package com.spotserve.controller;
 
+import com.spotserve.config.PrincipalCache;
 import com.spotserve.model.User;
 import com.spotserve.repository.UserRepository;
+import com.spotserve.service.PasswordHashingService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/customer/profile")
 @CrossOrigin(origins = "*")
@@ -18,7 +21,10 @@ public class UserController {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private PrincipalCache principalCache;
 
     // ✅ Get logged-in user's profile
     @GetMapping
@@ -52,29 +58,35 @@ public class UserController {
             user.setPhone(updatedData.getPhone());
 
         userRepository.save(user);
+        principalCache.evict(user.getEmail());
         return ResponseEntity.ok("Profile updated successfully");
     }
 
     // ✅ Change password
     @PutMapping("/change-password")
-    public ResponseEntity<?> changePassword(
+    public CompletableFuture<ResponseEntity<?>> changePassword(
             @AuthenticationPrincipal UserDetails userDetails,
             @RequestBody PasswordChangeRequest request) {
 
         if (userDetails == null)
-            return ResponseEntity.status(401).body("Unauthorized");
+            return CompletableFuture.completedFuture(ResponseEntity.status(401).body("Unauthorized"));
 
         User user = userRepository.findByEmail(userDetails.getUsername()).orElse(null);
         if (user == null)
-            return ResponseEntity.status(404).body("User not found");
-
-        if (!passwordEncoder.matches(request.getOldPassword(), user.getPassword())) {
-            return ResponseEntity.badRequest().body("Old password is incorrect");
-        }
-
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
-        userRepository.save(user);
-        return ResponseEntity.ok("Password changed successfully");
+            return CompletableFuture.completedFuture(ResponseEntity.status(404).body("User not found"));
+
+        // both hashes run on the password pool, never on the request thread
+        return passwordHashingService.matches(request.getOldPassword(), user.getPassword()).thenCompose(ok -> {
+            if (!ok)
+                return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("Old password is incorrect"));
+
+            return passwordHashingService.encode(request.getNewPassword()).thenApplyAsync(hash -> {
+                user.setPassword(hash);
+                userRepository.save(user);
+                principalCache.evict(user.getEmail());
+                return ResponseEntity.ok("Password changed successfully");
+            }, passwordHashingService.followUpExecutor());
+        });
     }
 
     // ✅ Static inner class for password change request
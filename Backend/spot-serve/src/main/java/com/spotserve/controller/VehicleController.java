@@ -1,13 +1,11 @@
 package com.spotserve.controller;
 
-import com.spotserve.model.User;
+import com.spotserve.config.AuthPrincipal;
+import com.spotserve.config.CurrentUser;
 import com.spotserve.model.Vehicle;
-import com.spotserve.repository.UserRepository;
 import com.spotserve.repository.VehicleRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -20,38 +18,27 @@ public class VehicleController {
     @Autowired
     private VehicleRepository vehicleRepository;
 
-    @Autowired
-    private UserRepository userRepository;
-
     // ✅ 1. Get vehicles for logged-in user (Add Vehicle page + Book Request)
     @GetMapping("/customer/vehicles")
     public ResponseEntity<List<Vehicle>> getVehiclesForLoggedUser(
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @CurrentUser AuthPrincipal principal) {
 
-        if (userDetails == null)
+        if (principal == null)
             return ResponseEntity.status(401).build();
 
-        User user = userRepository.findByEmail(userDetails.getUsername()).orElse(null);
-        if (user == null)
-            return ResponseEntity.notFound().build();
-
-        List<Vehicle> vehicles = vehicleRepository.findByUserId(user.getId());
+        List<Vehicle> vehicles = vehicleRepository.findByUserId(principal.id());
         return ResponseEntity.ok(vehicles);
     }
 
     // (Old endpoint kept for backward support)
     @GetMapping("/vehicles")
     public ResponseEntity<List<Vehicle>> getUserVehicles(
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @CurrentUser AuthPrincipal principal) {
 
-        if (userDetails == null)
+        if (principal == null)
             return ResponseEntity.status(401).build();
 
-        User user = userRepository.findByEmail(userDetails.getUsername()).orElse(null);
-        if (user == null)
-            return ResponseEntity.notFound().build();
-
-        List<Vehicle> vehicles = vehicleRepository.findByUserId(user.getId());
+        List<Vehicle> vehicles = vehicleRepository.findByUserId(principal.id());
         return ResponseEntity.ok(vehicles);
     }
 
@@ -65,17 +52,13 @@ public class VehicleController {
     // ✅ Add new vehicle for logged-in user
     @PostMapping("/vehicles")
     public ResponseEntity<?> addVehicle(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUser AuthPrincipal principal,
             @RequestBody Vehicle vehicle) {
 
-        if (userDetails == null)
+        if (principal == null)
             return ResponseEntity.status(401).body("Unauthorized");
 
-        User user = userRepository.findByEmail(userDetails.getUsername()).orElse(null);
-        if (user == null)
-            return ResponseEntity.badRequest().body("User not found");
-
-        vehicle.setUserId(user.getId());
+        vehicle.setUserId(principal.id());
         vehicleRepository.save(vehicle);
 
         return ResponseEntity.ok("Vehicle added successfully!");
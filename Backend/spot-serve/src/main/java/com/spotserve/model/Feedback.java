@@ -4,7 +4,10 @@ import jakarta.persistence.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "feedback")
+@Table(name = "feedback", indexes = {
+        @Index(name = "idx_feedback_created", columnList = "created_at, id"),
+        @Index(name = "idx_feedback_mechanic_created", columnList = "mechanic_id, created_at, id")
+})
 public class Feedback {
 
     @Id
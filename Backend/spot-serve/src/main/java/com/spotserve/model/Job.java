@@ -4,7 +4,13 @@ import jakarta.persistence.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "jobs")
+@Table(name = "jobs", indexes = {
+        @Index(name = "idx_jobs_status_code_lat_lng", columnList = "status_code, pickup_lat, pickup_lng"),
+        @Index(name = "idx_jobs_mechanic_status_code", columnList = "mechanic_id, status_code"),
+        @Index(name = "idx_jobs_customer_created", columnList = "customer_id, created_at, id"),
+        @Index(name = "idx_jobs_mechanic_created", columnList = "mechanic_id, created_at, id"),
+        @Index(name = "idx_jobs_status_code_created", columnList = "status_code, created_at, id")
+})
 public class Job {
 
     @Id
@@ -37,7 +43,9 @@ public class Job {
     @Column(name = "image_url")
     private String imageUrl;
 
-    private String status = "Pending";
+    @Convert(converter = JobStatusConverter.class)
+    @Column(name = "status_code", columnDefinition = "TINYINT")
+    private JobStatus status = JobStatus.PENDING;
 
     @Column(name = "otp_code")
     private String otpCode;
@@ -109,8 +117,15 @@ public class Job {
     public String getImageUrl() { return imageUrl; }
     public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
 
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public JobStatus getStatus() { return status; }
+    public void setStatus(JobStatus status) { this.status = status; }
+
+    // Moves the job to the next status, rejecting moves the lifecycle does not allow
+    public void transitionTo(JobStatus next) {
+        if (status != null && !status.canTransitionTo(next))
+            throw new IllegalStateException("Job " + id + " cannot move from " + status + " to " + next);
+        this.status = next;
+    }
 
     public String getOtpCode() { return otpCode; }
     public void setOtpCode(String otpCode) { this.otpCode = otpCode; }
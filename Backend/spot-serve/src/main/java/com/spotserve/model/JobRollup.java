@@ -0,0 +1,56 @@
+package com.spotserve.model;
+
+import jakarta.persistence.*;
+
+/**
+ * One hour of job activity for a (event, service, mechanic) combination.
+ *
+ * The hour is stored as whole hours since the epoch (UTC), which keeps the
+ * key compact and free of time-zone conversions between JPA and the JDBC
+ * upserts.
+ * {@code event} is CREATED, COMPLETED or CANCELLED; revenue is the sum of
+ * {@code totalAmount} and is only non-zero for COMPLETED. A missing service
+ * or mechanic is stored as 0 so the unique key covers every row (NULLs
+ * never collide in a unique index).
+ */
+@Entity
+@Table(name = "job_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_job_rollups_bucket",
+                columnNames = {"bucket_hour", "event", "service_id", "mechanic_id"}))
+public class JobRollup {
+
+    public static final String CREATED = "CREATED";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String CANCELLED = "CANCELLED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "bucket_hour", nullable = false)
+    private long bucketHour;
+
+    @Column(nullable = false, length = 16)
+    private String event;
+
+    @Column(name = "service_id", nullable = false)
+    private long serviceId;
+
+    @Column(name = "mechanic_id", nullable = false)
+    private long mechanicId;
+
+    @Column(name = "job_count", nullable = false)
+    private long jobCount;
+
+    @Column(nullable = false)
+    private double revenue;
+
+    // ===== Getters =====
+    public Long getId() { return id; }
+    public long getBucketHour() { return bucketHour; }
+    public String getEvent() { return event; }
+    public long getServiceId() { return serviceId; }
+    public long getMechanicId() { return mechanicId; }
+    public long getJobCount() { return jobCount; }
+    public double getRevenue() { return revenue; }
+}
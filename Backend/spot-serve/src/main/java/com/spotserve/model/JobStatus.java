@@ -0,0 +1,83 @@
+package com.spotserve.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lifecycle of a job.
+ *
+ * Stored as a one-byte code (see {@link JobStatusConverter}) and serialized
+ * to the API with the same labels the frontend has always received. Every
+ * status change goes through {@link #canTransitionTo(JobStatus)}, so the
+ * allowed moves live in one table instead of scattered string checks.
+ */
+public enum JobStatus {
+
+    PENDING(1, "Pending"),
+    ACCEPTED(2, "Accepted"),
+    ONGOING(3, "Ongoing"),
+    PAYMENT_PENDING(4, "PAYMENT_PENDING"),
+    COMPLETED(5, "Completed"),
+    CANCELLED(6, "Cancelled");
+
+    private static final JobStatus[] BY_CODE = new JobStatus[values().length + 1];
+    private static final Map<JobStatus, Set<JobStatus>> TRANSITIONS = new EnumMap<>(JobStatus.class);
+
+    static {
+        for (JobStatus s : values())
+            BY_CODE[s.code] = s;
+
+        TRANSITIONS.put(PENDING, EnumSet.of(ACCEPTED, CANCELLED));
+        TRANSITIONS.put(ACCEPTED, EnumSet.of(ONGOING));
+        TRANSITIONS.put(ONGOING, EnumSet.of(PAYMENT_PENDING, COMPLETED));
+        // a new payment link may replace an unpaid one
+        TRANSITIONS.put(PAYMENT_PENDING, EnumSet.of(PAYMENT_PENDING, COMPLETED));
+        TRANSITIONS.put(COMPLETED, EnumSet.noneOf(JobStatus.class));
+        TRANSITIONS.put(CANCELLED, EnumSet.noneOf(JobStatus.class));
+    }
+
+    private final int code;
+    private final String label;
+
+    JobStatus(int code, String label) {
+        this.code = code;
+        this.label = label;
+    }
+
+    public int getCode() { return code; }
+
+    @JsonValue
+    public String getLabel() { return label; }
+
+    public boolean canTransitionTo(JobStatus next) {
+        return TRANSITIONS.get(this).contains(next);
+    }
+
+    public static JobStatus fromCode(int code) {
+        if (code <= 0 || code >= BY_CODE.length)
+            throw new IllegalArgumentException("Unknown job status code: " + code);
+        return BY_CODE[code];
+    }
+
+    // Accepts the label or the constant name in any casing ("pending", "Payment_Pending", ...)
+    @JsonCreator
+    public static JobStatus fromLabel(String value) {
+        if (value != null) {
+            for (JobStatus s : values()) {
+                if (s.label.equalsIgnoreCase(value) || s.name().equalsIgnoreCase(value))
+                    return s;
+            }
+        }
+        throw new IllegalArgumentException("Unknown job status: " + value);
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,19 @@
+package com.spotserve.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// JobStatus <-> its small integer code in jobs.status_code
+@Converter
+public class JobStatusConverter implements AttributeConverter<JobStatus, Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(JobStatus status) {
+        return status == null ? null : status.getCode();
+    }
+
+    @Override
+    public JobStatus convertToEntityAttribute(Integer code) {
+        return code == null ? null : JobStatus.fromCode(code);
+    }
+}
@@ -0,0 +1,79 @@
+package com.spotserve.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Running rating totals of one mechanic: sum, count and how many reviews
+ * gave each of 1-5 stars.
+ *
+ * Kept in step with the {@code feedback} table by {@code MechanicRatingService}
+ * in the same transaction as every feedback insert and delete, so the
+ * average is one primary-key read instead of a scan of the mechanic's
+ * reviews.
+ */
+@Entity
+@Table(name = "mechanic_rating_stats")
+public class MechanicRatingStats {
+
+    @Id
+    @Column(name = "mechanic_id")
+    private Long mechanicId;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    @Column(name = "stars_1", nullable = false)
+    private long stars1;
+
+    @Column(name = "stars_2", nullable = false)
+    private long stars2;
+
+    @Column(name = "stars_3", nullable = false)
+    private long stars3;
+
+    @Column(name = "stars_4", nullable = false)
+    private long stars4;
+
+    @Column(name = "stars_5", nullable = false)
+    private long stars5;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    public MechanicRatingStats() {}
+
+    public MechanicRatingStats(Long mechanicId) {
+        this.mechanicId = mechanicId;
+    }
+
+    public double getAverage() {
+        return ratingCount == 0 ? 0.0 : (double) ratingSum / ratingCount;
+    }
+
+    /** Review counts for 1..5 stars, index 0 = one star. */
+    public long[] getHistogram() {
+        return new long[]{stars1, stars2, stars3, stars4, stars5};
+    }
+
+    /** Overwrites every total; {@code histogram} is indexed like {@link #getHistogram()}. */
+    public void setTotals(long ratingSum, long ratingCount, long[] histogram) {
+        this.ratingSum = ratingSum;
+        this.ratingCount = ratingCount;
+        this.stars1 = histogram[0];
+        this.stars2 = histogram[1];
+        this.stars3 = histogram[2];
+        this.stars4 = histogram[3];
+        this.stars5 = histogram[4];
+        this.updatedAt = Instant.now();
+    }
+
+    // ===== Getters =====
+    public Long getMechanicId() { return mechanicId; }
+    public long getRatingSum() { return ratingSum; }
+    public long getRatingCount() { return ratingCount; }
+    public Instant getUpdatedAt() { return updatedAt; }
+}
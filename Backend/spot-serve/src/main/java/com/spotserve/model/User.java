@@ -4,7 +4,10 @@ import jakarta.persistence.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_role_id", columnList = "role, id"),
+        @Index(name = "idx_users_role_name", columnList = "role, name, id")
+})
 public class User {
 
     @Id
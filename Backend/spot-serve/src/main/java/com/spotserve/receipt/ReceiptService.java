@@ -1,13 +1,12 @@
 package com.spotserve.receipt;
 
 import com.spotserve.model.Job;
-import com.spotserve.model.ServiceEntity;
 import com.spotserve.model.User;
 import com.spotserve.model.Vehicle;
 import com.spotserve.repository.JobRepository;
-import com.spotserve.repository.ServiceRepository;
 import com.spotserve.repository.UserRepository;
 import com.spotserve.repository.VehicleRepository;
+import com.spotserve.service.ServiceCatalog;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -21,7 +20,7 @@ public class ReceiptService {
     private UserRepository userRepository;
 
     @Autowired
-    private ServiceRepository serviceRepository;
+    private ServiceCatalog serviceCatalog;
 
     @Autowired
     private VehicleRepository vehicleRepository;
@@ -38,8 +37,7 @@ public class ReceiptService {
         }
 
         // Fetch related data
-        ServiceEntity service = serviceRepository.findById(job.getServiceId())
-                .orElse(null);
+        ServiceCatalog.Item service = serviceCatalog.find(job.getServiceId());
 
         User customer = userRepository.findById(job.getCustomerId())
                 .orElse(null);
@@ -51,8 +49,8 @@ public class ReceiptService {
                 .orElse(null);
 
         // Calculate amounts (service may be deleted)
-        double baseAmount = (service != null && service.getBasePrice() != null)
-                ? service.getBasePrice()
+        double baseAmount = (service != null && service.basePrice() != null)
+                ? service.basePrice()
                 : 0.0;
 
         double extraAmount = (job.getExtraAmount() != null)
@@ -64,11 +62,11 @@ public class ReceiptService {
         // Build DTO
         ReceiptDto dto = new ReceiptDto();
         dto.setJobId(job.getId());
-        dto.setStatus(job.getStatus());
+        dto.setStatus(job.getStatus().getLabel());
         dto.setCreatedAt(job.getCreatedAt());
 
         // FIX: provide fallback values if service is deleted
-        dto.setServiceName(service != null ? service.getName() : "Unknown Service");
+        dto.setServiceName(service != null ? service.name() : "Unknown Service");
 
         // Customer (always exists normally)
         dto.setCustomerId(customer != null ? customer.getId() : null);
@@ -1,11 +1,13 @@
 package com.spotserve.repository;
 
 import com.spotserve.model.Feedback;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,15 +20,66 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
     
     List<Feedback> findByCustomerId(Long customerId);
     
-    List<Feedback> findTop10ByOrderByCreatedAtDesc();
+    List<Feedback> findTop10ByOrderByCreatedAtDescIdDesc();
 
     
     boolean existsByJobId(Long jobId);
 
-    // ===== NEW METHODS FOR RATINGS =====
-    @Query("SELECT AVG(f.rating) FROM Feedback f WHERE f.mechanicId = :mechanicId")
-    Double getAverageRatingByMechanicId(@Param("mechanicId") Long mechanicId);
+    // ✅ Keyset pages, newest first: rows strictly after the cursor (created_at DESC, id DESC)
+    String AFTER_CURSOR = "(f.createdAt < :createdAt OR (f.createdAt = :createdAt AND f.id < :id)) " +
+            "ORDER BY f.createdAt DESC, f.id DESC";
 
-    @Query("SELECT COUNT(f) FROM Feedback f WHERE f.mechanicId = :mechanicId")
-    Integer countFeedbackByMechanicId(@Param("mechanicId") Long mechanicId);
+    @Query("SELECT f FROM Feedback f WHERE " + AFTER_CURSOR)
+    List<Feedback> findPage(@Param("createdAt") Instant createdAt,
+                            @Param("id") long id,
+                            Limit limit);
+
+    @Query("SELECT f FROM Feedback f WHERE f.mechanicId = :mechanicId AND " + AFTER_CURSOR)
+    List<Feedback> findMechanicPage(@Param("mechanicId") Long mechanicId,
+                                    @Param("createdAt") Instant createdAt,
+                                    @Param("id") long id,
+                                    Limit limit);
+
+    default KeysetCursor.Page<Feedback> pageAll(KeysetCursor after, int limit) {
+        return KeysetCursor.page(
+                findPage(after.createdAt(), after.id(), Limit.of(limit + 1)),
+                limit, FeedbackRepository::cursorOf);
+    }
+
+    default KeysetCursor.Page<Feedback> pageByMechanic(Long mechanicId, KeysetCursor after, int limit) {
+        return KeysetCursor.page(
+                findMechanicPage(mechanicId, after.createdAt(), after.id(), Limit.of(limit + 1)),
+                limit, FeedbackRepository::cursorOf);
+    }
+
+    private static KeysetCursor cursorOf(Feedback feedback) {
+        return new KeysetCursor(feedback.getCreatedAt(), feedback.getId());
+    }
+
+    // ===== RATING AGGREGATES (source of truth for mechanic_rating_stats) =====
+    interface RatingAggregate {
+        Long getMechanicId();
+        Long getRatingSum();
+        Long getRatingCount();
+        Long getStars1();
+        Long getStars2();
+        Long getStars3();
+        Long getStars4();
+        Long getStars5();
+    }
+
+    String RATING_AGGREGATE_SELECT =
+            "SELECT f.mechanicId AS mechanicId, SUM(f.rating) AS ratingSum, COUNT(f) AS ratingCount, " +
+            "SUM(CASE WHEN f.rating = 1 THEN 1 ELSE 0 END) AS stars1, " +
+            "SUM(CASE WHEN f.rating = 2 THEN 1 ELSE 0 END) AS stars2, " +
+            "SUM(CASE WHEN f.rating = 3 THEN 1 ELSE 0 END) AS stars3, " +
+            "SUM(CASE WHEN f.rating = 4 THEN 1 ELSE 0 END) AS stars4, " +
+            "SUM(CASE WHEN f.rating = 5 THEN 1 ELSE 0 END) AS stars5 " +
+            "FROM Feedback f ";
+
+    @Query(RATING_AGGREGATE_SELECT + "GROUP BY f.mechanicId")
+    List<RatingAggregate> aggregateRatings();
+
+    @Query(RATING_AGGREGATE_SELECT + "WHERE f.mechanicId = :mechanicId GROUP BY f.mechanicId")
+    Optional<RatingAggregate> aggregateRatingsOf(@Param("mechanicId") Long mechanicId);
 }
@@ -1,8 +1,17 @@
 package com.spotserve.repository;
 
 import com.spotserve.model.Job;
+import com.spotserve.model.JobStatus;
+import com.spotserve.service.GeoKernel;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -15,11 +24,236 @@ public interface JobRepository extends JpaRepository<Job, Long> {
     List<Job> findByMechanicId(Long mechanicId);
 
     // ✅ Optional: find jobs by status
-    List<Job> findByStatus(String status);
+    List<Job> findByStatus(JobStatus status);
     
-    long countByStatus(String status);
+    long countByStatus(JobStatus status);
     
-    long countByMechanicIdAndStatus(Long mechanicId, String status);
+    long countByMechanicIdAndStatus(Long mechanicId, JobStatus status);
 
+    // ✅ Keyset pages of list rows, newest first: rows strictly after the cursor (created_at DESC, id DESC)
+    String SUMMARY_SELECT = "SELECT new com.spotserve.repository.JobSummary(" +
+            "j.id, j.customerId, j.mechanicId, j.vehicleId, j.serviceId, s.id, s.name, s.basePrice, " +
+            "j.extraAmount, j.totalAmount, j.status, j.location, j.pickupLat, j.pickupLng, " +
+            "SUBSTRING(j.description, 1, " + JobSummary.DESCRIPTION_PREVIEW_LENGTH + "), " +
+            "j.imageUrl, j.otpCode, j.paymentUrl, j.createdAt) " +
+            "FROM Job j LEFT JOIN j.service s ";
 
+    String AFTER_CURSOR = "AND (j.createdAt < :createdAt OR (j.createdAt = :createdAt AND j.id < :id)) " +
+            "ORDER BY j.createdAt DESC, j.id DESC";
+
+    @Query(SUMMARY_SELECT + "WHERE j.customerId = :customerId AND j.status IN :statuses " + AFTER_CURSOR)
+    List<JobSummary> findCustomerPage(@Param("customerId") Long customerId,
+                                      @Param("statuses") Collection<JobStatus> statuses,
+                                      @Param("createdAt") Instant createdAt,
+                                      @Param("id") long id,
+                                      Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE j.mechanicId = :mechanicId AND j.status IN :statuses " + AFTER_CURSOR)
+    List<JobSummary> findMechanicPage(@Param("mechanicId") Long mechanicId,
+                                      @Param("statuses") Collection<JobStatus> statuses,
+                                      @Param("createdAt") Instant createdAt,
+                                      @Param("id") long id,
+                                      Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE j.status = :status " + AFTER_CURSOR)
+    List<JobSummary> findStatusPage(@Param("status") JobStatus status,
+                                    @Param("createdAt") Instant createdAt,
+                                    @Param("id") long id,
+                                    Limit limit);
+
+    default KeysetCursor.Page<JobSummary> pageByCustomer(Long customerId, Collection<JobStatus> statuses,
+                                                         KeysetCursor after, int limit) {
+        return KeysetCursor.page(
+                findCustomerPage(customerId, statuses, after.createdAt(), after.id(), Limit.of(limit + 1)),
+                limit, JobRepository::cursorOf);
+    }
+
+    default KeysetCursor.Page<JobSummary> pageByMechanic(Long mechanicId, Collection<JobStatus> statuses,
+                                                         KeysetCursor after, int limit) {
+        return KeysetCursor.page(
+                findMechanicPage(mechanicId, statuses, after.createdAt(), after.id(), Limit.of(limit + 1)),
+                limit, JobRepository::cursorOf);
+    }
+
+    default KeysetCursor.Page<JobSummary> pageByStatus(JobStatus status, KeysetCursor after, int limit) {
+        return KeysetCursor.page(
+                findStatusPage(status, after.createdAt(), after.id(), Limit.of(limit + 1)),
+                limit, JobRepository::cursorOf);
+    }
+
+    private static KeysetCursor cursorOf(JobSummary job) {
+        return new KeysetCursor(job.createdAt(), job.id());
+    }
+
+    // ✅ Atomic claim: the row only changes while it is still open, so exactly one caller gets 1
+    @Modifying
+    @Transactional
+    @Query("UPDATE Job j SET j.mechanicId = :mechanicId, j.status = :to " +
+            "WHERE j.id = :jobId AND j.status = :from AND j.mechanicId IS NULL")
+    int claimUnassigned(@Param("jobId") Long jobId,
+                        @Param("mechanicId") Long mechanicId,
+                        @Param("from") JobStatus from,
+                        @Param("to") JobStatus to);
+
+    default int claimIfPending(Long jobId, Long mechanicId) {
+        return claimUnassigned(jobId, mechanicId, JobStatus.PENDING, JobStatus.ACCEPTED);
+    }
+
+    // ✅ Atomic cancel: only the owner, and only while nobody has claimed the job yet
+    @Modifying
+    @Transactional
+    @Query("UPDATE Job j SET j.status = :to " +
+            "WHERE j.id = :jobId AND j.customerId = :customerId AND j.status = :from AND j.mechanicId IS NULL")
+    int cancelUnassigned(@Param("jobId") Long jobId,
+                         @Param("customerId") Long customerId,
+                         @Param("from") JobStatus from,
+                         @Param("to") JobStatus to);
+
+    default int cancelIfPending(Long jobId, Long customerId) {
+        return cancelUnassigned(jobId, customerId, JobStatus.PENDING, JobStatus.CANCELLED);
+    }
+
+    // ✅ Open job coordinates for batch dispatch
+    interface OpenJobLocation {
+        Long getId();
+        Double getPickupLat();
+        Double getPickupLng();
+    }
+
+    // ✅ Active job count per mechanic
+    interface MechanicLoad {
+        Long getMechanicId();
+        Long getJobCount();
+    }
+
+    // Oldest first, so long-waiting customers are matched before new ones
+    @Query("SELECT j.id AS id, j.pickupLat AS pickupLat, j.pickupLng AS pickupLng FROM Job j " +
+            "WHERE j.status = :status AND j.mechanicId IS NULL " +
+            "AND j.pickupLat IS NOT NULL AND j.pickupLng IS NOT NULL " +
+            "ORDER BY j.createdAt, j.id")
+    List<OpenJobLocation> findUnassignedLocations(@Param("status") JobStatus status);
+
+    default List<OpenJobLocation> findOpenJobLocations() {
+        return findUnassignedLocations(JobStatus.PENDING);
+    }
+
+    // ✅ Rollup backfill source: only the columns a rollup needs, a chunk at a time by id
+    interface RollupSource {
+        Long getId();
+        Instant getCreatedAt();
+        JobStatus getStatus();
+        Long getServiceId();
+        Long getMechanicId();
+        Double getTotalAmount();
+    }
+
+    @Query("SELECT j.id AS id, j.createdAt AS createdAt, j.status AS status, j.serviceId AS serviceId, " +
+            "j.mechanicId AS mechanicId, j.totalAmount AS totalAmount FROM Job j " +
+            "WHERE j.createdAt >= :from AND j.createdAt < :to AND j.id > :afterId ORDER BY j.id")
+    List<RollupSource> findRollupSource(@Param("from") Instant from,
+                                        @Param("to") Instant to,
+                                        @Param("afterId") long afterId,
+                                        Limit limit);
+
+    // ✅ Job count per status
+    interface StatusCount {
+        JobStatus getStatus();
+        Long getJobCount();
+    }
+
+    // Every status in one pass, instead of one count query per status
+    @Query("SELECT j.status AS status, COUNT(j) AS jobCount FROM Job j GROUP BY j.status")
+    List<StatusCount> countGroupedByStatus();
+
+    // Same semantics as countByMechanicIdAndStatus, summed over the statuses, for every mechanic at once
+    @Query("SELECT j.mechanicId AS mechanicId, COUNT(j) AS jobCount FROM Job j " +
+            "WHERE j.mechanicId IS NOT NULL AND j.status IN :statuses GROUP BY j.mechanicId")
+    List<MechanicLoad> countByMechanicForStatuses(@Param("statuses") Collection<JobStatus> statuses);
+
+    // ✅ Completed jobs per mechanic and when the latest of them was created
+    interface MechanicCompletion {
+        Long getMechanicId();
+        Long getCompletedJobs();
+        Instant getLastCreatedAt();
+    }
+
+    @Query("SELECT j.mechanicId AS mechanicId, COUNT(j) AS completedJobs, MAX(j.createdAt) AS lastCreatedAt " +
+            "FROM Job j WHERE j.mechanicId IS NOT NULL AND j.status = :status GROUP BY j.mechanicId")
+    List<MechanicCompletion> findCompletionsByMechanic(@Param("status") JobStatus status);
+
+    // ✅ Open job id + distance row for nearby-job searches
+    interface NearbyJob {
+        Long getId();
+        Double getDistanceKm();
+    }
+
+    /**
+     * Open jobs inside the lat/lng box (served by idx_jobs_status_code_lat_lng),
+     * refined by exact haversine distance and paged nearest first. The
+     * longitude filter is two ranges so a box crossing ±180° can be split;
+     * a box that does not cross passes the same range twice.
+     */
+    @Query(value = """
+            SELECT t.id AS id, t.distance_km AS distanceKm
+            FROM (
+                SELECT j.id AS id,
+                       2 * 6371 * ASIN(LEAST(1.0, SQRT(
+                           POWER(SIN(RADIANS(j.pickup_lat - :lat) / 2), 2)
+                           + COS(RADIANS(:lat)) * COS(RADIANS(j.pickup_lat))
+                           * POWER(SIN(RADIANS(j.pickup_lng - :lng) / 2), 2)
+                       ))) AS distance_km
+                FROM jobs j
+                WHERE j.status_code = :statusCode
+                  AND j.mechanic_id IS NULL
+                  AND j.pickup_lat BETWEEN :minLat AND :maxLat
+                  AND (j.pickup_lng BETWEEN :minLng AND :maxLng
+                       OR j.pickup_lng BETWEEN :wrapMinLng AND :wrapMaxLng)
+            ) t
+            WHERE t.distance_km <= :radiusKm
+            ORDER BY t.distance_km, t.id
+            LIMIT :limit OFFSET :offset
+            """, nativeQuery = true)
+    List<NearbyJob> findUnassignedInBox(@Param("statusCode") int statusCode,
+                                        @Param("lat") double lat,
+                                        @Param("lng") double lng,
+                                        @Param("radiusKm") double radiusKm,
+                                        @Param("minLat") double minLat,
+                                        @Param("maxLat") double maxLat,
+                                        @Param("minLng") double minLng,
+                                        @Param("maxLng") double maxLng,
+                                        @Param("wrapMinLng") double wrapMinLng,
+                                        @Param("wrapMaxLng") double wrapMaxLng,
+                                        @Param("limit") int limit,
+                                        @Param("offset") int offset);
+
+    // ✅ Nearby open jobs, nearest first — computes the bounding box for the radius
+    default List<NearbyJob> findPendingNearby(double lat, double lng, double radiusKm, int limit, int offset) {
+        GeoKernel.BoundingBox box = GeoKernel.boundingBox(lat, lng, radiusKm);
+
+        double minLng = box.minLng();
+        double maxLng = box.maxLng();
+        double wrapMinLng = minLng;
+        double wrapMaxLng = maxLng;
+
+        if (box.spansAllLongitudes()) {
+            minLng = wrapMinLng = -180.0;
+            maxLng = wrapMaxLng = 180.0;
+        } else if (minLng < -180.0) {
+            // west edge wrapped: [minLng + 360, 180] and [-180, maxLng]
+            wrapMinLng = minLng + 360.0;
+            wrapMaxLng = 180.0;
+            minLng = -180.0;
+        } else if (maxLng > 180.0) {
+            // east edge wrapped: [minLng, 180] and [-180, maxLng - 360]
+            wrapMinLng = -180.0;
+            wrapMaxLng = maxLng - 360.0;
+            maxLng = 180.0;
+        }
+
+        return findUnassignedInBox(JobStatus.PENDING.getCode(), lat, lng, radiusKm,
+                box.minLat(), box.maxLat(),
+                minLng, maxLng,
+                wrapMinLng, wrapMaxLng,
+                limit, offset);
+    }
 }
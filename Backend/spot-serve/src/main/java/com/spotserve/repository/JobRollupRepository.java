@@ -0,0 +1,40 @@
+package com.spotserve.repository;
+
+import com.spotserve.model.JobRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface JobRollupRepository extends JpaRepository<JobRollup, Long> {
+
+    // ✅ One chart point: hour bucket + event (+ service / mechanic id when grouped by one)
+    interface RollupPoint {
+        Long getBucketHour();
+        String getEvent();
+        Long getDimension();
+        Long getJobCount();
+        Double getRevenue();
+    }
+
+    // The unique key leads with bucket_hour, so every range read is an index range scan
+
+    @Query("SELECT r.bucketHour AS bucketHour, r.event AS event, 0L AS dimension, " +
+            "SUM(r.jobCount) AS jobCount, SUM(r.revenue) AS revenue FROM JobRollup r " +
+            "WHERE r.bucketHour >= :fromHour AND r.bucketHour < :toHour " +
+            "GROUP BY r.bucketHour, r.event ORDER BY r.bucketHour")
+    List<RollupPoint> sumByEvent(@Param("fromHour") long fromHour, @Param("toHour") long toHour);
+
+    @Query("SELECT r.bucketHour AS bucketHour, r.event AS event, r.serviceId AS dimension, " +
+            "SUM(r.jobCount) AS jobCount, SUM(r.revenue) AS revenue FROM JobRollup r " +
+            "WHERE r.bucketHour >= :fromHour AND r.bucketHour < :toHour " +
+            "GROUP BY r.bucketHour, r.event, r.serviceId ORDER BY r.bucketHour")
+    List<RollupPoint> sumByService(@Param("fromHour") long fromHour, @Param("toHour") long toHour);
+
+    @Query("SELECT r.bucketHour AS bucketHour, r.event AS event, r.mechanicId AS dimension, " +
+            "SUM(r.jobCount) AS jobCount, SUM(r.revenue) AS revenue FROM JobRollup r " +
+            "WHERE r.bucketHour >= :fromHour AND r.bucketHour < :toHour " +
+            "GROUP BY r.bucketHour, r.event, r.mechanicId ORDER BY r.bucketHour")
+    List<RollupPoint> sumByMechanic(@Param("fromHour") long fromHour, @Param("toHour") long toHour);
+}
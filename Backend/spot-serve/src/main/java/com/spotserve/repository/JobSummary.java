@@ -0,0 +1,68 @@
+package com.spotserve.repository;
+
+import com.spotserve.model.JobStatus;
+
+import java.time.Instant;
+
+/**
+ * Row of a job list view, read in one query with the service joined in.
+ *
+ * Carries what the list screens render and leaves the heavy columns out:
+ * {@code description} is a short preview (the full text comes from the
+ * single-job endpoint). The joined service columns also fill a nested
+ * {@code service} object, so the row has the same shape as the {@code Job}
+ * JSON (mechanic screens read {@code service.basePrice} and the pickup
+ * coordinates) without touching the lazy relation.
+ */
+public record JobSummary(Long id,
+                         Long customerId,
+                         Long mechanicId,
+                         Long vehicleId,
+                         Long serviceId,
+                         ServiceRef service,
+                         String serviceName,
+                         Double baseAmount,
+                         Double extraAmount,
+                         Double totalAmount,
+                         JobStatus status,
+                         String location,
+                         Double pickupLat,
+                         Double pickupLng,
+                         String description,
+                         String imageUrl,
+                         String otpCode,
+                         String paymentUrl,
+                         Instant createdAt,
+                         String customerName,
+                         String mechanicName) {
+
+    public static final int DESCRIPTION_PREVIEW_LENGTH = 160;
+
+    /** The job's service as {@code Job.service} serializes it; null when the service is gone. */
+    public record ServiceRef(Long id, String name, Double basePrice) {}
+
+    // Same fallbacks Job.getServiceName / getBaseAmount apply
+    public JobSummary {
+        if (serviceName == null || serviceName.isBlank())
+            serviceName = "Unknown Service";
+        if (baseAmount == null)
+            baseAmount = 500.0;
+    }
+
+    // Used by the JPQL constructor expressions; names are attached later where a view needs them
+    public JobSummary(Long id, Long customerId, Long mechanicId, Long vehicleId, Long serviceId,
+                      Long joinedServiceId, String serviceName, Double baseAmount, Double extraAmount,
+                      Double totalAmount, JobStatus status, String location, Double pickupLat, Double pickupLng,
+                      String description, String imageUrl, String otpCode, String paymentUrl, Instant createdAt) {
+        this(id, customerId, mechanicId, vehicleId, serviceId,
+                joinedServiceId == null ? null : new ServiceRef(joinedServiceId, serviceName, baseAmount),
+                serviceName, baseAmount, extraAmount, totalAmount, status, location, pickupLat, pickupLng,
+                description, imageUrl, otpCode, paymentUrl, createdAt, null, null);
+    }
+
+    public JobSummary withNames(String customerName, String mechanicName) {
+        return new JobSummary(id, customerId, mechanicId, vehicleId, serviceId, service, serviceName, baseAmount,
+                extraAmount, totalAmount, status, location, pickupLat, pickupLng, description, imageUrl,
+                otpCode, paymentUrl, createdAt, customerName, mechanicName);
+    }
+}
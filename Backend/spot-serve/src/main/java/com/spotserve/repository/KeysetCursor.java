@@ -0,0 +1,69 @@
+package com.spotserve.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Position in a list ordered by (created_at DESC, id DESC).
+ *
+ * Pages are fetched with "rows strictly after this key" instead of an
+ * OFFSET, so page 100 costs the same index seek as page 1 and rows created
+ * between requests never shift a page. The cursor travels to clients as an
+ * opaque URL-safe token.
+ */
+public record KeysetCursor(Instant createdAt, long id) {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    // Sorts after every real row, so the first page uses the same query as the rest
+    public static final KeysetCursor FIRST = new KeysetCursor(Instant.parse("9999-12-31T23:59:59Z"), Long.MAX_VALUE);
+
+    /** A page of rows plus the token for the next one ({@code null} on the last page). */
+    public record Page<T>(List<T> items, String nextCursor) {}
+
+    public String encode() {
+        String raw = createdAt.getEpochSecond() + ":" + createdAt.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Decodes a client token; a missing token means the first page. */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank())
+            return FIRST;
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 3)
+                throw new IllegalArgumentException("Invalid cursor");
+
+            return new KeysetCursor(
+                    Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1])),
+                    Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public static int clampLimit(Integer limit) {
+        if (limit == null)
+            return DEFAULT_LIMIT;
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    /**
+     * Turns a query result fetched with {@code limit + 1} rows into a page:
+     * the extra row only signals that another page exists.
+     */
+    public static <T> Page<T> page(List<T> rows, int limit, Function<T, KeysetCursor> keyOf) {
+        if (rows.size() <= limit)
+            return new Page<>(rows, null);
+
+        List<T> items = rows.subList(0, limit);
+        return new Page<>(items, keyOf.apply(items.get(limit - 1)).encode());
+    }
+}
@@ -0,0 +1,55 @@
+package com.spotserve.repository;
+
+import com.spotserve.model.MechanicRatingStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface MechanicRatingStatsRepository extends JpaRepository<MechanicRatingStats, Long> {
+
+    // ✅ Add one review; creates the row on a mechanic's first review
+    @Modifying
+    @Query(value = "INSERT INTO mechanic_rating_stats " +
+            "(mechanic_id, rating_sum, rating_count, stars_1, stars_2, stars_3, stars_4, stars_5, updated_at) " +
+            "VALUES (:mechanicId, :rating, 1, " +
+            "CASE WHEN :rating = 1 THEN 1 ELSE 0 END, CASE WHEN :rating = 2 THEN 1 ELSE 0 END, " +
+            "CASE WHEN :rating = 3 THEN 1 ELSE 0 END, CASE WHEN :rating = 4 THEN 1 ELSE 0 END, " +
+            "CASE WHEN :rating = 5 THEN 1 ELSE 0 END, :now) " +
+            "ON DUPLICATE KEY UPDATE rating_sum = rating_sum + VALUES(rating_sum), " +
+            "rating_count = rating_count + 1, " +
+            "stars_1 = stars_1 + VALUES(stars_1), stars_2 = stars_2 + VALUES(stars_2), " +
+            "stars_3 = stars_3 + VALUES(stars_3), stars_4 = stars_4 + VALUES(stars_4), " +
+            "stars_5 = stars_5 + VALUES(stars_5), updated_at = VALUES(updated_at)",
+            nativeQuery = true)
+    int addRating(@Param("mechanicId") Long mechanicId,
+                  @Param("rating") int rating,
+                  @Param("now") Instant now);
+
+    // ✅ Take one review back out
+    @Modifying
+    @Query("UPDATE MechanicRatingStats s SET s.ratingSum = s.ratingSum - :rating, " +
+            "s.ratingCount = s.ratingCount - 1, " +
+            "s.stars1 = s.stars1 - CASE WHEN :rating = 1 THEN 1 ELSE 0 END, " +
+            "s.stars2 = s.stars2 - CASE WHEN :rating = 2 THEN 1 ELSE 0 END, " +
+            "s.stars3 = s.stars3 - CASE WHEN :rating = 3 THEN 1 ELSE 0 END, " +
+            "s.stars4 = s.stars4 - CASE WHEN :rating = 4 THEN 1 ELSE 0 END, " +
+            "s.stars5 = s.stars5 - CASE WHEN :rating = 5 THEN 1 ELSE 0 END, " +
+            "s.updatedAt = :now " +
+            "WHERE s.mechanicId = :mechanicId AND s.ratingCount > 0")
+    int removeRating(@Param("mechanicId") Long mechanicId,
+                     @Param("rating") int rating,
+                     @Param("now") Instant now);
+
+    // ✅ Row lock held while the rebuild recomputes one mechanic
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM MechanicRatingStats s WHERE s.mechanicId = :mechanicId")
+    Optional<MechanicRatingStats> findForUpdate(@Param("mechanicId") Long mechanicId);
+}
@@ -1,7 +1,16 @@
 package com.spotserve.repository;
 
+import com.spotserve.model.JobStatus;
 import com.spotserve.model.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -9,4 +18,112 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
  
     long countByRole(String role);
+
+    // ✅ Id + display name only, for resolving names of a whole page at once
+    interface UserName {
+        Long getId();
+        String getName();
+    }
+
+    @Query("SELECT u.id AS id, u.name AS name FROM User u WHERE u.id IN :ids")
+    List<UserName> findNamesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // ✅ Mechanic roster row: profile + job counts from one aggregate
+    interface MechanicRosterRow {
+        Long getId();
+        String getName();
+        String getEmail();
+        String getPhone();
+        String getShopName();
+        String getAddress();
+        Double getLatitude();
+        Double getLongitude();
+        Long getCompletedJobs();
+        Long getOngoingJobs();
+        Long getTotalJobs();
+    }
+
+    /**
+     * One row per user of the role with their Completed / Ongoing job counts.
+     * The join only reaches those two statuses, so it is answered from
+     * idx_jobs_mechanic_status_code without touching job rows; sortable on
+     * any of the aliases.
+     */
+    @Query(value = "SELECT u.id AS id, u.name AS name, u.email AS email, u.phone AS phone, " +
+            "u.shopName AS shopName, u.address AS address, u.latitude AS latitude, u.longitude AS longitude, " +
+            "SUM(CASE WHEN j.status = :completed THEN 1 ELSE 0 END) AS completedJobs, " +
+            "SUM(CASE WHEN j.status = :ongoing THEN 1 ELSE 0 END) AS ongoingJobs, " +
+            "COUNT(j.id) AS totalJobs " +
+            "FROM User u LEFT JOIN Job j ON j.mechanicId = u.id AND j.status IN (:completed, :ongoing) " +
+            "WHERE u.role = :role " +
+            "GROUP BY u.id, u.name, u.email, u.phone, u.shopName, u.address, u.latitude, u.longitude",
+            countQuery = "SELECT COUNT(u) FROM User u WHERE u.role = :role")
+    Page<MechanicRosterRow> findRoster(@Param("role") String role,
+                                       @Param("completed") JobStatus completed,
+                                       @Param("ongoing") JobStatus ongoing,
+                                       Pageable pageable);
+
+    default Page<MechanicRosterRow> findMechanicRoster(Pageable pageable) {
+        return findRoster("MECHANIC", JobStatus.COMPLETED, JobStatus.ONGOING, pageable);
+    }
+
+    // ✅ Directory page: users of a role after the given id, optionally filtered by a name / email prefix
+    @Query("SELECT new com.spotserve.repository.UserSummary(u.id, u.name, u.email, u.phone, u.role, u.createdAt) " +
+            "FROM User u WHERE u.role = :role AND u.id > :afterId " +
+            "AND (:prefix IS NULL OR u.name LIKE :prefix ESCAPE '!' OR u.email LIKE :prefix ESCAPE '!') " +
+            "ORDER BY u.id")
+    List<UserSummary> findDirectoryPage(@Param("role") String role,
+                                        @Param("afterId") long afterId,
+                                        @Param("prefix") String prefix,
+                                        Limit limit);
+
+    /**
+     * Keyset page over idx_users_role_id: the cursor is the last id seen, so
+     * every page is one index range read. The search text matches as a
+     * prefix, with LIKE wildcards in it taken literally.
+     */
+    default KeysetCursor.Page<UserSummary> pageDirectory(String role, Long afterId, String search, int limit) {
+        String prefix = null;
+        if (search != null && !search.isBlank())
+            prefix = search.trim().replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+
+        List<UserSummary> rows = findDirectoryPage(role, afterId == null ? 0L : afterId, prefix, Limit.of(limit + 1));
+        if (rows.size() <= limit)
+            return new KeysetCursor.Page<>(rows, null);
+
+        List<UserSummary> items = rows.subList(0, limit);
+        return new KeysetCursor.Page<>(items, String.valueOf(items.get(limit - 1).id()));
+    }
+
+    // ✅ User count per role, in one pass
+    interface RoleCount {
+        String getRole();
+        Long getUserCount();
+    }
+
+    @Query("SELECT u.role AS role, COUNT(u) AS userCount FROM User u GROUP BY u.role")
+    List<RoleCount> countGroupedByRole();
+
+    // ✅ Users of a role that have a location set (dispatch candidates)
+    interface UserLocation {
+        Long getId();
+        Double getLatitude();
+        Double getLongitude();
+    }
+
+    @Query("SELECT u.id AS id, u.latitude AS latitude, u.longitude AS longitude FROM User u " +
+            "WHERE u.role = :role AND u.latitude IS NOT NULL AND u.longitude IS NOT NULL")
+    List<UserLocation> findLocationsByRole(@Param("role") String role);
+
+    // ✅ Name + location of every user of a role (leaderboard seed)
+    interface UserCard {
+        Long getId();
+        String getName();
+        Double getLatitude();
+        Double getLongitude();
+    }
+
+    @Query("SELECT u.id AS id, u.name AS name, u.latitude AS latitude, u.longitude AS longitude " +
+            "FROM User u WHERE u.role = :role")
+    List<UserCard> findCardsByRole(@Param("role") String role);
 }
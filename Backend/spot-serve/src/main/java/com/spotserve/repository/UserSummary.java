@@ -0,0 +1,14 @@
+package com.spotserve.repository;
+
+import java.time.Instant;
+
+/**
+ * Row of the admin user directory: contact details only, never the
+ * password hash or location columns.
+ */
+public record UserSummary(Long id,
+                          String name,
+                          String email,
+                          String phone,
+                          String role,
+                          Instant createdAt) {}
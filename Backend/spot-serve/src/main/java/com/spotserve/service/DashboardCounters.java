@@ -0,0 +1,244 @@
+package com.spotserve.service;
+
+import com.spotserve.model.Feedback;
+import com.spotserve.model.Job;
+import com.spotserve.model.JobStatus;
+import com.spotserve.model.User;
+import com.spotserve.repository.FeedbackRepository;
+import com.spotserve.repository.JobRepository;
+import com.spotserve.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory admin dashboard totals: jobs per status, users per role and
+ * feedback count.
+ *
+ * Hibernate post-commit events move the counters as entities are created,
+ * change status / role or are deleted, so only committed changes count.
+ * Bulk claims bypass those events and report through
+ * {@link #onBulkTransition}. A scheduled reconcile reloads everything with
+ * one GROUP BY per table; the same load is the fallback whenever the
+ * counters are not trustworthy (before the first load, or after an update
+ * whose previous state Hibernate could not supply).
+ */
+@Service
+public class DashboardCounters implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    private final AtomicLong[] jobsByStatus = new AtomicLong[JobStatus.values().length];
+    private final Map<String, AtomicLong> usersByRole = new ConcurrentHashMap<>();
+    private final AtomicLong feedback = new AtomicLong();
+
+    private volatile boolean loaded;
+
+    @PostConstruct
+    void registerListeners() {
+        for (int i = 0; i < jobsByStatus.length; i++)
+            jobsByStatus[i] = new AtomicLong();
+
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    /* ======================================================
+       📊 Read
+    ====================================================== */
+    public Map<String, Object> snapshot() {
+        if (!loaded)
+            reconcile();
+
+        long total = 0;
+        for (AtomicLong count : jobsByStatus)
+            total += count.get();
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("total", total);
+        stats.put("completed", jobs(JobStatus.COMPLETED));
+        stats.put("pending", jobs(JobStatus.PENDING));
+        stats.put("cancelled", jobs(JobStatus.CANCELLED));
+        stats.put("accepted", jobs(JobStatus.ACCEPTED));
+        stats.put("ongoing", jobs(JobStatus.ONGOING));
+        stats.put("totalUsers", users("CUSTOMER"));
+        stats.put("totalMechanics", users("MECHANIC"));
+        stats.put("totalFeedback", feedback.get());
+        return stats;
+    }
+
+    private long jobs(JobStatus status) {
+        return jobsByStatus[status.ordinal()].get();
+    }
+
+    private long users(String role) {
+        AtomicLong count = usersByRole.get(role);
+        return count == null ? 0 : count.get();
+    }
+
+    /* ======================================================
+       🔄 Reconcile with the database
+    ====================================================== */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.dashboard.reconcile-interval-ms:300000}",
+            initialDelayString = "${app.dashboard.reconcile-interval-ms:300000}")
+    public synchronized void reconcile() {
+        long[] statusCounts = new long[jobsByStatus.length];
+        for (JobRepository.StatusCount row : jobRepository.countGroupedByStatus()) {
+            if (row.getStatus() != null)
+                statusCounts[row.getStatus().ordinal()] = row.getJobCount();
+        }
+
+        Map<String, Long> roleCounts = new HashMap<>();
+        for (UserRepository.RoleCount row : userRepository.countGroupedByRole()) {
+            if (row.getRole() != null)
+                roleCounts.put(row.getRole(), row.getUserCount());
+        }
+
+        long feedbackCount = feedbackRepository.count();
+
+        for (int i = 0; i < statusCounts.length; i++)
+            jobsByStatus[i].set(statusCounts[i]);
+
+        usersByRole.keySet().retainAll(roleCounts.keySet());
+        roleCounts.forEach((role, count) ->
+                usersByRole.computeIfAbsent(role, r -> new AtomicLong()).set(count));
+
+        feedback.set(feedbackCount);
+        loaded = true;
+    }
+
+    /* ======================================================
+       ✏️ Incremental updates
+    ====================================================== */
+
+    /** A committed conditional UPDATE moved {@code rows} jobs between statuses. */
+    public void onBulkTransition(JobStatus from, JobStatus to, int rows) {
+        if (rows <= 0 || from == to)
+            return;
+        jobsByStatus[from.ordinal()].addAndGet(-rows);
+        jobsByStatus[to.ordinal()].addAndGet(rows);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof Job job)
+            adjustStatus(job.getStatus(), 1);
+        else if (entity instanceof User user)
+            adjustRole(user.getRole(), 1);
+        else if (entity instanceof Feedback)
+            feedback.incrementAndGet();
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        Object entity = event.getEntity();
+        if (!(entity instanceof Job) && !(entity instanceof User))
+            return;
+
+        Object[] oldState = event.getOldState();
+        if (oldState == null) {
+            // no before-image (e.g. a detached update): rebuild on the next read
+            loaded = false;
+            return;
+        }
+
+        if (entity instanceof Job job) {
+            JobStatus before = (JobStatus) oldState[propertyIndex(event.getPersister(), "status")];
+            if (before != job.getStatus()) {
+                adjustStatus(before, -1);
+                adjustStatus(job.getStatus(), 1);
+            }
+        } else {
+            User user = (User) entity;
+            String before = (String) oldState[propertyIndex(event.getPersister(), "role")];
+            if (before == null ? user.getRole() != null : !before.equals(user.getRole())) {
+                adjustRole(before, -1);
+                adjustRole(user.getRole(), 1);
+            }
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof Job job)
+            adjustStatus(job.getStatus(), -1);
+        else if (entity instanceof User user)
+            adjustRole(user.getRole(), -1);
+        else if (entity instanceof Feedback)
+            feedback.decrementAndGet();
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> type = persister.getMappedClass();
+        return type == Job.class || type == User.class || type == Feedback.class;
+    }
+
+    // Rolled back: nothing was counted, nothing to undo
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {}
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {}
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {}
+
+    /* ======================================================
+       🔧 Helpers
+    ====================================================== */
+    private void adjustStatus(JobStatus status, int delta) {
+        if (status != null)
+            jobsByStatus[status.ordinal()].addAndGet(delta);
+    }
+
+    private void adjustRole(String role, int delta) {
+        if (role != null)
+            usersByRole.computeIfAbsent(role, r -> new AtomicLong()).addAndGet(delta);
+    }
+
+    private static int propertyIndex(EntityPersister persister, String property) {
+        String[] names = persister.getPropertyNames();
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(property))
+                return i;
+        }
+        throw new IllegalStateException("No property " + property + " on " + persister.getEntityName());
+    }
+}
@@ -0,0 +1,319 @@
+package com.spotserve.service;
+
+import com.spotserve.model.JobStatus;
+import com.spotserve.repository.JobRepository;
+import com.spotserve.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Batch auto-dispatch of open jobs to mechanics.
+ *
+ * Each cycle loads every open job and every located mechanic once, then
+ * walks the jobs oldest first and gives each one to the nearby mechanic
+ * with the lowest "distance + load penalty" cost. Load is the number of
+ * Accepted / Ongoing jobs a mechanic holds (the countByMechanicIdAndStatus
+ * semantics) and grows as the cycle assigns work, so a batch never piles
+ * everything onto the single closest mechanic.
+ *
+ * Disabled by default; enable with {@code app.dispatch.enabled=true}.
+ */
+@Service
+public class DispatchService {
+
+    private static final List<JobStatus> ACTIVE_STATUSES = List.of(JobStatus.ACCEPTED, JobStatus.ONGOING);
+
+    @Value("${app.dispatch.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.dispatch.max-radius-km:15}")
+    private double maxRadiusKm;
+
+    @Value("${app.dispatch.max-active-jobs:3}")
+    private int maxActiveJobs;
+
+    // Every active job a mechanic holds counts like this many extra km of travel
+    @Value("${app.dispatch.load-penalty-km:2.0}")
+    private double loadPenaltyKm;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PendingJobIndex pendingJobIndex;
+
+    @Autowired
+    private JobFeedService jobFeedService;
+
+    @Autowired
+    private MechanicLocationRegistry locationRegistry;
+
+    @Autowired
+    private DashboardCounters dashboardCounters;
+
+    private final AtomicReference<CycleMetrics> lastCycle = new AtomicReference<>();
+
+    /** Outcome of one dispatch cycle. */
+    public record CycleMetrics(Instant startedAt,
+                               long cycleMillis,
+                               int jobsConsidered,
+                               int mechanicsConsidered,
+                               int assigned,
+                               int unassigned,
+                               double averageDistanceKm) {}
+
+    record Assignment(long jobId, long mechanicId, double distanceKm) {}
+
+    record MechanicPosition(long id, double lat, double lng) {}
+
+    /* ======================================================
+       ⏱️ Scheduled cycle
+    ====================================================== */
+    @Scheduled(fixedDelayString = "${app.dispatch.interval-ms:15000}")
+    public void scheduledCycle() {
+        if (enabled)
+            runCycle();
+    }
+
+    public CycleMetrics getLastCycle() {
+        return lastCycle.get();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /* ======================================================
+       🚚 One batch: load → match → persist
+    ====================================================== */
+    public synchronized CycleMetrics runCycle() {
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+
+        List<JobRepository.OpenJobLocation> jobs = jobRepository.findOpenJobLocations();
+        MechanicGrid mechanics = new MechanicGrid(mechanicPositions(), maxRadiusKm);
+
+        Map<Long, Integer> slotByMechanic = mechanics.slotsById();
+        int[] load = new int[mechanics.size()];
+        for (JobRepository.MechanicLoad row : jobRepository.countByMechanicForStatuses(ACTIVE_STATUSES)) {
+            Integer slot = slotByMechanic.get(row.getMechanicId());
+            if (slot != null)
+                load[slot] = row.getJobCount().intValue();
+        }
+
+        List<Assignment> assignments = persist(match(jobs, mechanics, load));
+
+        double totalDistance = 0;
+        for (Assignment a : assignments)
+            totalDistance += a.distanceKm();
+
+        CycleMetrics metrics = new CycleMetrics(
+                startedAt,
+                (System.nanoTime() - start) / 1_000_000,
+                jobs.size(),
+                mechanics.size(),
+                assignments.size(),
+                jobs.size() - assignments.size(),
+                assignments.isEmpty() ? 0.0 : totalDistance / assignments.size()
+        );
+        lastCycle.set(metrics);
+        return metrics;
+    }
+
+    // Profile locations, overridden by the latest live GPS ping where one exists
+    private List<MechanicPosition> mechanicPositions() {
+        List<MechanicPosition> positions = new ArrayList<>();
+        for (UserRepository.UserLocation l : userRepository.findLocationsByRole("MECHANIC")) {
+            MechanicLocationRegistry.Position live = locationRegistry.positionOf(l.getId());
+            if (live != null)
+                positions.add(new MechanicPosition(l.getId(), live.lat(), live.lng()));
+            // 0,0 is the placeholder written when an admin adds a mechanic without a location
+            else if (l.getLatitude() != 0.0 || l.getLongitude() != 0.0)
+                positions.add(new MechanicPosition(l.getId(), l.getLatitude(), l.getLongitude()));
+        }
+        return positions;
+    }
+
+    // Greedy, oldest job first: cheapest eligible mechanic within range wins
+    List<Assignment> match(List<JobRepository.OpenJobLocation> jobs, MechanicGrid mechanics, int[] load) {
+        List<Assignment> assignments = new ArrayList<>();
+
+        for (JobRepository.OpenJobLocation job : jobs) {
+            double lat = job.getPickupLat();
+            double lng = job.getPickupLng();
+
+            int best = -1;
+            double bestCost = Double.MAX_VALUE;
+            double bestDistance = 0;
+
+            for (int slot : mechanics.candidates(lat, lng)) {
+                if (load[slot] >= maxActiveJobs)
+                    continue;
+
+                double distance = GeoKernel.haversineKm(lat, lng, mechanics.lat[slot], mechanics.lng[slot]);
+                if (distance > maxRadiusKm)
+                    continue;
+
+                double cost = distance + loadPenaltyKm * load[slot];
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    best = slot;
+                    bestDistance = distance;
+                }
+            }
+
+            if (best >= 0) {
+                load[best]++;
+                assignments.add(new Assignment(job.getId(), mechanics.ids[best], bestDistance));
+            }
+        }
+
+        return assignments;
+    }
+
+    // Returns the assignments that were actually applied
+    private List<Assignment> persist(List<Assignment> assignments) {
+        if (assignments.isEmpty())
+            return assignments;
+
+        // one transaction for the whole batch; each row is claimed with the same
+        // conditional UPDATE as a manual accept, so a job taken meanwhile is skipped
+        Set<Long> claimed = transactionTemplate.execute(tx -> {
+            Set<Long> ids = new HashSet<>();
+            for (Assignment a : assignments) {
+                if (jobRepository.claimIfPending(a.jobId(), a.mechanicId()) == 1)
+                    ids.add(a.jobId());
+            }
+            return ids;
+        });
+
+        // only after commit, so the index, feed and counters never show an assignment that rolled back
+        dashboardCounters.onBulkTransition(JobStatus.PENDING, JobStatus.ACCEPTED, claimed.size());
+        for (Long jobId : claimed)
+            pendingJobIndex.remove(jobId);
+        jobRepository.findAllById(claimed).forEach(jobFeedService::publishClosed);
+
+        return assignments.stream().filter(a -> claimed.contains(a.jobId())).toList();
+    }
+
+    /* ======================================================
+       🗺️ Mechanic positions in primitive columns + lat/lng grid
+    ====================================================== */
+    static final class MechanicGrid {
+
+        // smallest cell, for radii under ~1 km
+        private static final double MIN_CELL_DEG = 0.01;
+
+        final long[] ids;
+        final double[] lat;
+        final double[] lng;
+
+        private final double radiusKm;
+        private final double cellDeg;
+        private final int columns;
+
+        // row → (column → mechanic slots); only occupied cells are stored
+        private final Map<Integer, Map<Integer, List<Integer>>> rows = new HashMap<>();
+
+        MechanicGrid(List<MechanicPosition> positions, double radiusKm) {
+            int n = positions.size();
+            ids = new long[n];
+            lat = new double[n];
+            lng = new double[n];
+            this.radiusKm = radiusKm;
+
+            // a cell is at least the radius in latitude, on the sphere haversineKm measures on,
+            // and a whole number of cells spans 360° so columns wrap cleanly at ±180°
+            double radiusDeg = Math.toDegrees(radiusKm / GeoKernel.EARTH_RADIUS_KM);
+            columns = (int) Math.max(1, Math.floor(360.0 / Math.max(radiusDeg, MIN_CELL_DEG)));
+            cellDeg = 360.0 / columns;
+
+            for (int i = 0; i < n; i++) {
+                MechanicPosition p = positions.get(i);
+                ids[i] = p.id();
+                lat[i] = p.lat();
+                lng[i] = p.lng();
+                rows.computeIfAbsent(row(lat[i]), r -> new HashMap<>())
+                        .computeIfAbsent(Math.floorMod(col(lng[i]), columns), c -> new ArrayList<>())
+                        .add(i);
+            }
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        Map<Long, Integer> slotsById() {
+            Map<Long, Integer> slots = new HashMap<>(ids.length * 2);
+            for (int i = 0; i < ids.length; i++)
+                slots.put(ids[i], i);
+            return slots;
+        }
+
+        /**
+         * Mechanics in the cells covering {@link GeoKernel#boundingBox} of the
+         * radius around the point. The column range is taken unwrapped and
+         * folded back with floorMod, so a box crossing ±180° reads both sides,
+         * and it never exceeds one lap; near the poles, where the box spans
+         * many columns, the occupied cells of the row are walked instead.
+         */
+        List<Integer> candidates(double pointLat, double pointLng) {
+            GeoKernel.BoundingBox box = GeoKernel.boundingBox(pointLat, pointLng, radiusKm);
+
+            int fromCol = 0;
+            int span = columns;
+            if (!box.spansAllLongitudes()) {
+                fromCol = col(box.minLng());
+                span = Math.min(col(box.maxLng()) - fromCol + 1, columns);
+            }
+
+            List<Integer> result = new ArrayList<>();
+            for (int r = row(box.minLat()), toRow = row(box.maxLat()); r <= toRow; r++) {
+                Map<Integer, List<Integer>> cells = rows.get(r);
+                if (cells == null)
+                    continue;
+
+                if (span >= cells.size()) {
+                    for (Map.Entry<Integer, List<Integer>> cell : cells.entrySet()) {
+                        if (Math.floorMod(cell.getKey() - fromCol, columns) < span)
+                            result.addAll(cell.getValue());
+                    }
+                } else {
+                    for (int c = fromCol; c < fromCol + span; c++) {
+                        List<Integer> slots = cells.get(Math.floorMod(c, columns));
+                        if (slots != null)
+                            result.addAll(slots);
+                    }
+                }
+            }
+            return result;
+        }
+
+        private int row(double value) {
+            return (int) Math.floor((value + 90.0) / cellDeg);
+        }
+
+        // unwrapped: below 0 west of -180°, at or past columns east of 180°
+        private int col(double value) {
+            return (int) Math.floor((value + 180.0) / cellDeg);
+        }
+    }
+}
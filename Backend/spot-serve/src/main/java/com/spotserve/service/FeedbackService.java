@@ -2,14 +2,18 @@ package com.spotserve.service;
 
 import com.spotserve.model.Feedback;
 import com.spotserve.model.Job;
+import com.spotserve.model.JobStatus;
 import com.spotserve.model.User;
 import com.spotserve.repository.FeedbackRepository;
 import com.spotserve.repository.JobRepository;
-import com.spotserve.repository.UserRepository;
+import com.spotserve.repository.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -22,11 +26,16 @@ public class FeedbackService {
     private JobRepository jobRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private UserNameLookup userNameLookup;
+
+    @Autowired
+    private MechanicRatingService mechanicRatingService;
 
     /**
-     * Submit feedback for a completed job
+     * Submit feedback for a completed job (the mechanic's rating aggregate
+     * is updated in the same transaction)
      */
+    @Transactional
     public Feedback submitFeedback(Long jobId, Long customerId, Integer rating, String comment) {
 
         Optional<Job> jobOpt = jobRepository.findById(jobId);
@@ -40,7 +49,7 @@ public class FeedbackService {
             throw new RuntimeException("Unauthorized: Job does not belong to this customer");
         }
 
-        if (!"Completed".equalsIgnoreCase(job.getStatus())) {
+        if (job.getStatus() != JobStatus.COMPLETED) {
             throw new RuntimeException("Feedback can only be submitted for completed jobs");
         }
 
@@ -63,37 +72,76 @@ public class FeedbackService {
         feedback.setRating(rating);
         feedback.setComment(comment);
 
-        return feedbackRepository.save(feedback);
+        Feedback saved = feedbackRepository.save(feedback);
+        mechanicRatingService.onFeedbackAdded(saved);
+        return saved;
+    }
+
+    /**
+     * Delete feedback and take it out of the mechanic's rating aggregate
+     */
+    @Transactional
+    public boolean deleteFeedback(Long feedbackId) {
+        Optional<Feedback> feedback = feedbackRepository.findById(feedbackId);
+        if (feedback.isEmpty()) return false;
+
+        feedbackRepository.delete(feedback.get());
+        mechanicRatingService.onFeedbackRemoved(feedback.get());
+        return true;
     }
 
     /**
      * Enrich single feedback with names
      */
     public void enrichFeedback(Feedback f) {
-        userRepository.findById(f.getCustomerId())
-                .ifPresent(c -> f.setCustomerName(c.getName()));
-
-        userRepository.findById(f.getMechanicId())
-                .ifPresent(m -> f.setMechanicName(m.getName()));
+        enrichAll(List.of(f));
     }
 
     /**
-     * Get all mechanic feedback enriched
+     * Enrich a list of feedback with names: one user lookup for the whole list
      */
-    public List<Feedback> getMechanicFeedback(Long mechanicId) {
-        List<Feedback> list = feedbackRepository.findByMechanicId(mechanicId);
-        list.forEach(this::enrichFeedback);
+    public List<Feedback> enrichAll(List<Feedback> list) {
+        List<Long> userIds = new ArrayList<>(list.size() * 2);
+        for (Feedback f : list) {
+            userIds.add(f.getCustomerId());
+            userIds.add(f.getMechanicId());
+        }
+        Map<Long, String> names = userNameLookup.namesOf(userIds);
+
+        for (Feedback f : list) {
+            f.setCustomerName(names.get(f.getCustomerId()));
+            f.setMechanicName(names.get(f.getMechanicId()));
+        }
         return list;
     }
 
-    public Double getMechanicAverageRating(Long mechanicId) {
-        List<Feedback> list = feedbackRepository.findByMechanicId(mechanicId);
-        if (list.isEmpty()) return 0.0;
+    /**
+     * One page of all feedback (newest first), enriched
+     */
+    public KeysetCursor.Page<Feedback> pageAll(KeysetCursor after, int limit) {
+        KeysetCursor.Page<Feedback> page = feedbackRepository.pageAll(after, limit);
+        enrichAll(page.items());
+        return page;
+    }
+
+    /**
+     * One page of a mechanic's feedback (newest first), enriched
+     */
+    public KeysetCursor.Page<Feedback> pageByMechanic(Long mechanicId, KeysetCursor after, int limit) {
+        KeysetCursor.Page<Feedback> page = feedbackRepository.pageByMechanic(mechanicId, after, limit);
+        enrichAll(page.items());
+        return page;
+    }
 
-        return list.stream()
-                .mapToInt(Feedback::getRating)
-                .average()
-                .orElse(0.0);
+    /**
+     * Latest feedback (newest first), enriched
+     */
+    public List<Feedback> getRecentFeedback() {
+        return enrichAll(feedbackRepository.findTop10ByOrderByCreatedAtDescIdDesc());
+    }
+
+    public Double getMechanicAverageRating(Long mechanicId) {
+        return mechanicRatingService.statsOf(mechanicId).getAverage();
     }
 
     public boolean feedbackExists(Long jobId) {
@@ -0,0 +1,170 @@
+package com.spotserve.service;
+
+import java.util.Arrays;
+
+/**
+ * Shared distance math for job discovery and dispatch.
+ *
+ * The bulk methods work on primitive coordinate columns so a scan over
+ * thousands of jobs allocates nothing per candidate; the per-query trig of
+ * the origin is computed once instead of once per job.
+ */
+public final class GeoKernel {
+
+    public static final double EARTH_RADIUS_KM = 6371.0;
+
+    private static final double DEG_TO_RAD = Math.PI / 180.0;
+
+    private GeoKernel() {}
+
+    /**
+     * Lat/lng box around a search circle. Longitudes are not wrapped, so
+     * {@code minLng} may be below -180 or {@code maxLng} above 180 when the
+     * circle crosses the antimeridian; a box containing a pole spans every
+     * longitude.
+     */
+    public record BoundingBox(double minLat, double maxLat, double minLng, double maxLng) {
+
+        public boolean spansAllLongitudes() {
+            return maxLng - minLng >= 360.0;
+        }
+    }
+
+    /* ======================================================
+       📏 Scalar
+    ====================================================== */
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double sinDLat = Math.sin((lat2 - lat1) * DEG_TO_RAD * 0.5);
+        double sinDLon = Math.sin((lon2 - lon1) * DEG_TO_RAD * 0.5);
+        double a = sinDLat * sinDLat
+                + Math.cos(lat1 * DEG_TO_RAD) * Math.cos(lat2 * DEG_TO_RAD) * sinDLon * sinDLon;
+
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(Math.min(1.0, a)));
+    }
+
+    /**
+     * Smallest box containing every point within {@code radiusKm} of
+     * (lat, lng) on the same sphere {@link #haversineKm} measures on, so a
+     * point exactly at the radius is never cut off by the box.
+     */
+    public static BoundingBox boundingBox(double lat, double lng, double radiusKm) {
+        double angular = radiusKm / EARTH_RADIUS_KM;
+        double dLat = angular / DEG_TO_RAD;
+        double minLat = lat - dLat;
+        double maxLat = lat + dLat;
+
+        // a pole inside the circle: every longitude is in range
+        if (minLat <= -90.0 || maxLat >= 90.0)
+            return new BoundingBox(Math.max(-90.0, minLat), Math.min(90.0, maxLat), -180.0, 180.0);
+
+        // widest longitude offset of the circle, reached north / south of the centre's parallel
+        double dLng = Math.asin(Math.min(1.0, Math.sin(angular) / Math.cos(lat * DEG_TO_RAD))) / DEG_TO_RAD;
+        return new BoundingBox(minLat, maxLat, lng - dLng, lng + dLng);
+    }
+
+    /* ======================================================
+       📐 Bulk
+    ====================================================== */
+
+    /**
+     * Writes the distance from (lat, lng) to every point in {@code [from, to)}
+     * of the columns into {@code out}, starting at {@code outFrom}.
+     */
+    public static void distancesKm(double lat, double lng,
+                                   double[] lats, double[] lngs,
+                                   int from, int to,
+                                   double[] out, int outFrom) {
+        double cosOrigin = Math.cos(lat * DEG_TO_RAD);
+
+        for (int i = from, o = outFrom; i < to; i++, o++) {
+            double sinDLat = Math.sin((lats[i] - lat) * DEG_TO_RAD * 0.5);
+            double sinDLon = Math.sin((lngs[i] - lng) * DEG_TO_RAD * 0.5);
+            double a = sinDLat * sinDLat + cosOrigin * Math.cos(lats[i] * DEG_TO_RAD) * sinDLon * sinDLon;
+            out[o] = 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(Math.min(1.0, a)));
+        }
+    }
+
+    /**
+     * Orders the indices {@code idx[0..n)} by {@code dist[idx[i]]} ascending
+     * without boxing: distance (as float bits) and index are packed into one
+     * long and the longs are sorted.
+     */
+    public static void sortByDistance(int[] idx, int n, double[] dist) {
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++)
+            packed[i] = pack(dist[idx[i]], idx[i]);
+
+        Arrays.sort(packed);
+
+        for (int i = 0; i < n; i++)
+            idx[i] = (int) packed[i];
+    }
+
+    /**
+     * Selects the {@code k} nearest of {@code idx[0..n)} into {@code idx[0..result)}
+     * nearest first, using a bounded max-heap of packed (distance, index) longs.
+     * Returns the number selected.
+     */
+    public static int topK(int[] idx, int n, double[] dist, int k) {
+        if (k <= 0)
+            return 0;
+        if (n <= k) {
+            sortByDistance(idx, n, dist);
+            return n;
+        }
+
+        long[] heap = new long[k];
+        int size = 0;
+
+        for (int i = 0; i < n; i++) {
+            long candidate = pack(dist[idx[i]], idx[i]);
+            if (size < k) {
+                heap[size] = candidate;
+                siftUp(heap, size++);
+            } else if (candidate < heap[0]) {
+                heap[0] = candidate;
+                siftDown(heap, size);
+            }
+        }
+
+        Arrays.sort(heap, 0, size);
+        for (int i = 0; i < size; i++)
+            idx[i] = (int) heap[i];
+
+        return size;
+    }
+
+    // Non-negative floats order the same as their int bits
+    private static long pack(double distance, int index) {
+        return ((long) Float.floatToIntBits((float) distance) << 32) | (index & 0xffffffffL);
+    }
+
+    private static void siftUp(long[] heap, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] >= heap[i])
+                return;
+            long tmp = heap[parent];
+            heap[parent] = heap[i];
+            heap[i] = tmp;
+            i = parent;
+        }
+    }
+
+    private static void siftDown(long[] heap, int size) {
+        int i = 0;
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size)
+                return;
+            int right = left + 1;
+            int largest = (right < size && heap[right] > heap[left]) ? right : left;
+            if (heap[i] >= heap[largest])
+                return;
+            long tmp = heap[i];
+            heap[i] = heap[largest];
+            heap[largest] = tmp;
+            i = largest;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.spotserve.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigInteger;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Verifies Google id_tokens locally against Google's published signing keys.
+ *
+ * The JWKS document is fetched once and kept for the max-age Google sends
+ * in Cache-Control; a scheduled check refreshes it shortly before that runs
+ * out, so logins never wait on it. A token signed with a key id we have
+ * not seen (key rotation) triggers one immediate refresh, throttled so a
+ * flood of forged kids cannot hammer the endpoint.
+ */
+@Service
+public class GoogleIdTokenVerifier {
+
+    private static final Set<String> ISSUERS = Set.of("https://accounts.google.com", "accounts.google.com");
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+    private static final long DEFAULT_MAX_AGE_SECONDS = 3600;
+    private static final long MIN_FORCED_REFRESH_NANOS = 30_000_000_000L; // 30 s
+
+    @Value("${spring.security.oauth2.client.registration.google.client-id:}")
+    private String clientId;
+
+    @Value("${app.oauth2.google.jwks-uri:https://www.googleapis.com/oauth2/v3/certs}")
+    private String jwksUri;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    private volatile KeySet keySet = KeySet.EMPTY;
+    private volatile long lastFetchNanos = System.nanoTime() - MIN_FORCED_REFRESH_NANOS;
+
+    private JwtParser parser;
+
+    private record KeySet(Map<String, PublicKey> keys, long refreshAtNanos) {
+        static final KeySet EMPTY = new KeySet(Map.of(), 0);
+    }
+
+    @PostConstruct
+    void init() {
+        // built once: building a jjwt parser scans the classpath for its JSON support
+        parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return keyFor(header.getKeyId());
+                    }
+                })
+                .setAllowedClockSkewSeconds(60)
+                .build();
+    }
+
+    /* ======================================================
+       ✅ Verify
+    ====================================================== */
+
+    /** Claims of a valid id_token issued by Google for this client. */
+    public Claims verify(String idToken) throws Exception {
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(idToken).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new Exception("Invalid id_token: " + e.getMessage());
+        }
+
+        if (!ISSUERS.contains(claims.getIssuer()))
+            throw new Exception("Invalid id_token issuer");
+
+        if (clientId == null || !clientId.equals(claims.getAudience()))
+            throw new Exception("Invalid id_token audience");
+
+        return claims;
+    }
+
+    /* ======================================================
+       🔑 Signing keys
+    ====================================================== */
+    private Key keyFor(String kid) {
+        if (kid == null)
+            throw new JwtException("id_token has no key id");
+
+        PublicKey key = keySet.keys().get(kid);
+        if (key == null)
+            key = refreshFor(kid);
+        if (key == null)
+            throw new JwtException("Unknown id_token key id");
+        return key;
+    }
+
+    // Loaded lazily on first use; after that kept fresh here, off the login path
+    @Scheduled(fixedDelayString = "${app.oauth2.google.jwks-check-interval-ms:60000}")
+    public void refreshIfStale() {
+        KeySet current = keySet;
+        if (current != KeySet.EMPTY && System.nanoTime() - current.refreshAtNanos() >= 0) {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                // keep the old keys; the next check retries
+            }
+        }
+    }
+
+    // Logins holding the same new kid queue here and the first one fetches; the rest
+    // find its keys on the re-check instead of failing on the throttle mid-refresh
+    private synchronized PublicKey refreshFor(String kid) {
+        PublicKey key = keySet.keys().get(kid);
+        if (key != null || System.nanoTime() - lastFetchNanos < MIN_FORCED_REFRESH_NANOS)
+            return key;
+
+        refresh();
+        return keySet.keys().get(kid);
+    }
+
+    private synchronized void refresh() {
+        lastFetchNanos = System.nanoTime();
+
+        ResponseEntity<Map> response;
+        try {
+            response = restTemplate.getForEntity(jwksUri, Map.class);
+        } catch (RestClientException e) {
+            throw new JwtException("Could not load Google signing keys: " + e.getMessage());
+        }
+
+        Map<String, PublicKey> keys = parseKeys(response.getBody());
+        if (keys.isEmpty())
+            throw new JwtException("Google signing keys response had no usable keys");
+
+        // refresh once four fifths of the advertised lifetime has passed
+        long maxAge = maxAgeSeconds(response.getHeaders().getCacheControl());
+        keySet = new KeySet(keys, System.nanoTime() + maxAge * 800_000_000L);
+    }
+
+    private static Map<String, PublicKey> parseKeys(Map body) {
+        Map<String, PublicKey> keys = new HashMap<>();
+        if (body == null || !(body.get("keys") instanceof Collection<?> list))
+            return keys;
+
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        for (Object item : list) {
+            if (!(item instanceof Map<?, ?> jwk) || !"RSA".equals(jwk.get("kty")))
+                continue;
+
+            Object kid = jwk.get("kid");
+            Object n = jwk.get("n");
+            Object e = jwk.get("e");
+            if (kid == null || n == null || e == null)
+                continue;
+
+            try {
+                RSAPublicKeySpec spec = new RSAPublicKeySpec(
+                        new BigInteger(1, decoder.decode(n.toString())),
+                        new BigInteger(1, decoder.decode(e.toString())));
+                keys.put(kid.toString(), KeyFactory.getInstance("RSA").generatePublic(spec));
+            } catch (Exception ex) {
+                // skip a malformed key, keep the rest
+            }
+        }
+        return keys;
+    }
+
+    private static long maxAgeSeconds(String cacheControl) {
+        if (cacheControl != null) {
+            Matcher m = MAX_AGE.matcher(cacheControl);
+            if (m.find())
+                return Math.max(60, Long.parseLong(m.group(1)));
+        }
+        return DEFAULT_MAX_AGE_SECONDS;
+    }
+}
@@ -3,6 +3,7 @@ package com.spotserve.service;
 import com.spotserve.config.JwtService;
 import com.spotserve.model.User;
 import com.spotserve.repository.UserRepository;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -26,12 +27,19 @@ public class GoogleOAuthService {
     @Value("${app.oauth2.redirectUri:http://localhost:8080/api/auth/google/callback}")
     private String redirectUri;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Value("${app.oauth2.google.token-uri:https://oauth2.googleapis.com/token}")
+    private String tokenUrl;
+
+    private final RestTemplate restTemplate;
+    private final GoogleIdTokenVerifier idTokenVerifier;
     private final UserRepository userRepository;
     private final JwtService jwtService;
     private final PasswordEncoder passwordEncoder;
 
-    public GoogleOAuthService(UserRepository userRepository, JwtService jwtService, PasswordEncoder passwordEncoder) {
+    public GoogleOAuthService(RestTemplate restTemplate, GoogleIdTokenVerifier idTokenVerifier,
+                              UserRepository userRepository, JwtService jwtService, PasswordEncoder passwordEncoder) {
+        this.restTemplate = restTemplate;
+        this.idTokenVerifier = idTokenVerifier;
         this.userRepository = userRepository;
         this.jwtService = jwtService;
         this.passwordEncoder = passwordEncoder;
@@ -46,8 +54,6 @@ public class GoogleOAuthService {
         }
 
         // 1) Exchange code for tokens
-        String tokenUrl = "https://oauth2.googleapis.com/token";
-
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
 
@@ -71,21 +77,8 @@ public class GoogleOAuthService {
         String idToken = (String) tokenBody.get("id_token");
         if (idToken == null) throw new Exception("id_token missing from token response");
 
-        // 2) Validate / parse id_token using Google tokeninfo
-        String tokenInfoUrl = "https://oauth2.googleapis.com/tokeninfo?id_token=" + URLEncoder.encode(idToken, StandardCharsets.UTF_8);
-        ResponseEntity<Map> infoResp = restTemplate.getForEntity(tokenInfoUrl, Map.class);
-        if (!infoResp.getStatusCode().is2xxSuccessful() || infoResp.getBody() == null) {
-            throw new Exception("Failed to validate id_token");
-        }
-
-        Map info = infoResp.getBody();
-
-        // verify audience (aud)
-        Object audObj = info.get("aud");
-        String aud = audObj != null ? audObj.toString() : null;
-        if (aud == null || !aud.equals(clientId)) {
-            throw new Exception("Invalid id_token audience");
-        }
+        // 2) Verify id_token locally (signature against cached Google keys, issuer, audience, expiry)
+        Claims info = idTokenVerifier.verify(idToken);
 
         String email = info.get("email") != null ? info.get("email").toString() : null;
         String name = info.get("name") != null ? info.get("name").toString() : null;
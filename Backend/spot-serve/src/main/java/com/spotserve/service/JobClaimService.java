@@ -0,0 +1,94 @@
+package com.spotserve.service;
+
+import com.spotserve.model.Job;
+import com.spotserve.model.JobStatus;
+import com.spotserve.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single claim path for open jobs.
+ *
+ * Accepting is one conditional UPDATE (status Pending and no mechanic), so
+ * when several mechanics race for the same job the database picks exactly
+ * one winner and the others see zero rows changed — no read-check-save
+ * window, no lost update. Cancelling by the customer goes through the same
+ * kind of UPDATE, so a cancel can never overwrite a claim (or vice versa).
+ */
+@Service
+public class JobClaimService {
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private PendingJobIndex pendingJobIndex;
+
+    @Autowired
+    private JobFeedService jobFeedService;
+
+    @Autowired
+    private DashboardCounters dashboardCounters;
+
+    @Autowired
+    private JobRollupService jobRollupService;
+
+    private final LongAdder claimed = new LongAdder();
+    private final LongAdder lost = new LongAdder();
+
+    public enum ClaimResult { CLAIMED, ALREADY_TAKEN, NOT_FOUND }
+
+    public enum CancelResult { CANCELLED, NOT_PENDING, FORBIDDEN, NOT_FOUND }
+
+    public ClaimResult claim(Long jobId, Long mechanicId) {
+        if (jobRepository.claimIfPending(jobId, mechanicId) == 1) {
+            claimed.increment();
+            // the claim is a bulk UPDATE, which Hibernate's entity events never see
+            dashboardCounters.onBulkTransition(JobStatus.PENDING, JobStatus.ACCEPTED, 1);
+            afterClaim(jobId);
+            return ClaimResult.CLAIMED;
+        }
+
+        if (!jobRepository.existsById(jobId))
+            return ClaimResult.NOT_FOUND;
+
+        lost.increment();
+        return ClaimResult.ALREADY_TAKEN;
+    }
+
+    public CancelResult cancel(Long jobId, Long customerId) {
+        if (jobRepository.cancelIfPending(jobId, customerId) == 1) {
+            dashboardCounters.onBulkTransition(JobStatus.PENDING, JobStatus.CANCELLED, 1);
+            pendingJobIndex.remove(jobId);
+            jobRepository.findById(jobId).ifPresent(job -> {
+                jobRollupService.onBulkTransition(job);
+                jobFeedService.publishClosed(job);
+            });
+            return CancelResult.CANCELLED;
+        }
+
+        // zero rows: work out why only for the response, the row itself is never written here
+        Job job = jobRepository.findById(jobId).orElse(null);
+        if (job == null)
+            return CancelResult.NOT_FOUND;
+        if (!job.getCustomerId().equals(customerId))
+            return CancelResult.FORBIDDEN;
+        return CancelResult.NOT_PENDING;
+    }
+
+    /** Removes a claimed job from discovery and retracts it from live feeds. */
+    public void afterClaim(Long jobId) {
+        pendingJobIndex.remove(jobId);
+        jobRepository.findById(jobId).ifPresent(jobFeedService::publishClosed);
+    }
+
+    public long getClaimedCount() {
+        return claimed.sum();
+    }
+
+    public long getLostRaceCount() {
+        return lost.sum();
+    }
+}
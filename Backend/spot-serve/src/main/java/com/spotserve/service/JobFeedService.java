@@ -0,0 +1,287 @@
+package com.spotserve.service;
+
+import com.spotserve.model.Job;
+import com.spotserve.repository.JobRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Server-Sent Events feed of open jobs for online mechanics.
+ *
+ * A mechanic subscribes with a location and radius. New jobs are pushed only
+ * to subscribers whose radius covers the pickup point, and accepted or
+ * cancelled jobs are retracted, so each job event costs one fan-out instead
+ * of every mechanic re-polling the pending list.
+ *
+ * Every subscriber has its own bounded queue, drained by a small shared
+ * sender pool one subscriber at a time, so events to one connection stay
+ * in order and never interleave. A slow client only backs up its own
+ * queue: when that overflows, or one send blocks past the send timeout,
+ * the subscriber is dropped (its EventSource reconnects and gets a fresh
+ * snapshot) and everyone else keeps receiving.
+ */
+@Service
+public class JobFeedService {
+
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L; // 30 minutes
+
+    // events sent per turn before a sender moves on to the next subscriber
+    private static final int DRAIN_BATCH = 16;
+
+    @Value("${app.job-feed.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${app.job-feed.subscriber-queue:64}")
+    private int queueCapacity;
+
+    @Value("${app.job-feed.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Autowired
+    private PendingJobIndex pendingJobIndex;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder dropped = new LongAdder();
+
+    // Sends happen off the request thread so a slow client never delays createJob
+    private ExecutorService senders;
+
+    private static final class Subscriber {
+        final long mechanicId;
+        final double lat;
+        final double lng;
+        final double radiusKm;
+        final SseEmitter emitter;
+        final BlockingDeque<SseEmitter.SseEventBuilder> queue;
+
+        // true while a sender owns this subscriber; starts held until the snapshot is queued
+        final AtomicBoolean draining = new AtomicBoolean(true);
+
+        // System.nanoTime() when the send in progress started, 0 when idle
+        volatile long sendingSince;
+
+        Subscriber(long mechanicId, double lat, double lng, double radiusKm, SseEmitter emitter, int capacity) {
+            this.mechanicId = mechanicId;
+            this.lat = lat;
+            this.lng = lng;
+            this.radiusKm = radiusKm;
+            this.emitter = emitter;
+            this.queue = new LinkedBlockingDeque<>(capacity);
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        AtomicInteger seq = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(Math.max(1, senderThreads), r -> {
+            Thread t = new Thread(r, "job-feed-sender-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /* ======================================================
+       📡 Subscribe
+    ====================================================== */
+    public SseEmitter subscribe(long mechanicId, double lat, double lng, double radiusKm) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        Subscriber subscriber = new Subscriber(mechanicId, lat, lng, radiusKm, emitter, Math.max(1, queueCapacity));
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        // Registered (but held) before the snapshot is read, so no job event can fall in
+        // between; events arriving meanwhile queue up behind the snapshot
+        subscribers.add(subscriber);
+
+        // Initial snapshot of what is already open nearby
+        List<PendingJobIndex.Hit> hits = pendingJobIndex.findWithin(lat, lng, radiusKm);
+        Map<Long, Job> jobsById = new HashMap<>();
+        jobRepository.findAllById(hits.stream().map(PendingJobIndex.Hit::jobId).toList())
+                .forEach(job -> jobsById.put(job.getId(), job));
+
+        List<Map<String, Object>> snapshot = new ArrayList<>();
+        for (PendingJobIndex.Hit hit : hits) {
+            Job job = jobsById.get(hit.jobId());
+            if (job != null)
+                snapshot.add(toPayload(job, hit.distanceKm()));
+        }
+
+        if (!subscriber.queue.offerFirst(SseEmitter.event().name("snapshot").data(snapshot))) {
+            drop(subscriber, "feed queue full before the snapshot");
+            return emitter;
+        }
+
+        subscriber.draining.set(false);
+        scheduleDrain(subscriber);
+        return emitter;
+    }
+
+    /* ======================================================
+       📣 Job events
+    ====================================================== */
+    public void publishCreated(Job job) {
+        if (job == null || job.getPickupLat() == null || job.getPickupLng() == null)
+            return;
+
+        double lat = job.getPickupLat();
+        double lng = job.getPickupLng();
+
+        for (Subscriber s : subscribers) {
+            double distance = GeoKernel.haversineKm(s.lat, s.lng, lat, lng);
+            if (distance <= s.radiusKm)
+                enqueue(s, SseEmitter.event().name("job-created").data(toPayload(job, distance)));
+        }
+    }
+
+    /** Retract a job that is no longer open (accepted or cancelled). */
+    public void publishClosed(Job job) {
+        if (job == null || job.getId() == null)
+            return;
+
+        Map<String, Object> payload = Map.of("id", job.getId(), "status", job.getStatus());
+        Double lat = job.getPickupLat();
+        Double lng = job.getPickupLng();
+
+        for (Subscriber s : subscribers) {
+            // jobs without a location were never pushed by radius, so retract them everywhere
+            if (lat == null || lng == null
+                    || GeoKernel.haversineKm(s.lat, s.lng, lat, lng) <= s.radiusKm)
+                enqueue(s, SseEmitter.event().name("job-retracted").data(payload));
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /* ======================================================
+       💓 Keep-alive (also prunes dead and stalled connections)
+    ====================================================== */
+    @Scheduled(fixedRate = 25_000)
+    public void heartbeat() {
+        long now = System.nanoTime();
+        long timeoutNanos = sendTimeoutMs * 1_000_000L;
+
+        for (Subscriber s : subscribers) {
+            long since = s.sendingSince;
+            if (since != 0 && now - since > timeoutNanos)
+                drop(s, "send blocked for more than " + sendTimeoutMs + " ms");
+            else
+                enqueue(s, SseEmitter.event().comment("keep-alive"));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+        subscribers.forEach(s -> s.emitter.complete());
+        subscribers.clear();
+    }
+
+    /* ======================================================
+       🚚 Per-subscriber delivery
+    ====================================================== */
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (!subscriber.queue.offer(event)) {
+            drop(subscriber, "feed queue full");
+            return;
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.draining.set(false); // shutting down
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            for (int i = 0; i < DRAIN_BATCH && subscribers.contains(subscriber); i++) {
+                SseEmitter.SseEventBuilder event = subscriber.queue.poll();
+                if (event == null)
+                    break;
+
+                subscriber.sendingSince = System.nanoTime();
+                try {
+                    subscriber.emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    subscribers.remove(subscriber);
+                    subscriber.emitter.completeWithError(e);
+                    return;
+                } finally {
+                    subscriber.sendingSince = 0;
+                }
+            }
+        } finally {
+            subscriber.draining.set(false);
+        }
+
+        // more arrived (or the batch ran out) while this sender owned the subscriber
+        if (subscribers.contains(subscriber))
+            scheduleDrain(subscriber);
+    }
+
+    private void drop(Subscriber subscriber, String reason) {
+        if (!subscribers.remove(subscriber))
+            return;
+
+        dropped.increment();
+        subscriber.queue.clear();
+        try {
+            subscriber.emitter.completeWithError(new IOException(reason));
+        } catch (IllegalStateException e) {
+            // already completed
+        }
+    }
+
+    /* ======================================================
+       🔧 Helpers
+    ====================================================== */
+    private Map<String, Object> toPayload(Job job, double distanceKm) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", job.getId());
+        map.put("serviceId", job.getServiceId());
+        map.put("description", job.getDescription());
+        map.put("distanceKm", String.format("%.2f", distanceKm));
+        map.put("status", job.getStatus());
+        map.put("location", job.getLocation());
+        map.put("createdAt", job.getCreatedAt());
+        return map;
+    }
+}
@@ -0,0 +1,342 @@
+package com.spotserve.service;
+
+import com.spotserve.model.Job;
+import com.spotserve.model.JobRollup;
+import com.spotserve.model.JobStatus;
+import com.spotserve.repository.JobRepository;
+import com.spotserve.repository.JobRollupRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hourly job rollups (created / completed / cancelled counts and revenue per
+ * service and mechanic) for the admin trend reports.
+ *
+ * Committed job inserts and status changes are folded into in-memory
+ * per-bucket deltas; a scheduled flush adds them to {@code job_rollups}
+ * with one batched upsert, so a burst of job events costs one row write
+ * per touched bucket. Reports only ever read rollup rows.
+ */
+@Service
+public class JobRollupService implements PostCommitInsertEventListener, PostCommitUpdateEventListener {
+
+    private static final long SECONDS_PER_HOUR = 3600;
+    private static final int BACKFILL_CHUNK = 1000;
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    private static final String ADD_SQL =
+            "INSERT INTO job_rollups (bucket_hour, event, service_id, mechanic_id, job_count, revenue) " +
+            "VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE job_count = job_count + VALUES(job_count), revenue = revenue + VALUES(revenue)";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO job_rollups (bucket_hour, event, service_id, mechanic_id, job_count, revenue) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JobRollupRepository jobRollupRepository;
+
+    // When live rollups started (ISO-8601 instant); rows from that hour on are never backfilled
+    @Value("${app.rollups.cutover:}")
+    private String cutover;
+
+    private final Map<Key, Delta> pending = new ConcurrentHashMap<>();
+
+    private record Key(long bucketHour, String event, long serviceId, long mechanicId) {}
+
+    private record SeriesKey(long bucketHour, String event, long dimension) {}
+
+    // Immutable, so merge() into the pending map never loses a concurrent add
+    private record Delta(long jobCount, double revenue) {
+        Delta plus(Delta other) {
+            return new Delta(jobCount + other.jobCount, revenue + other.revenue);
+        }
+    }
+
+    /** Outcome of a backfill run. */
+    public record BackfillResult(long jobsScanned, int rowsWritten) {}
+
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+    }
+
+    /* ======================================================
+       ✏️ Live events
+    ====================================================== */
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Job job)
+            record(job.getCreatedAt(), JobRollup.CREATED, job, 0.0);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Job job) || event.getOldState() == null)
+            return;
+
+        JobStatus before = (JobStatus) event.getOldState()[statusIndex(event.getPersister())];
+        if (before == job.getStatus())
+            return;
+
+        // closed jobs are bucketed by the hour they closed in
+        onBulkTransition(job);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.getMappedClass() == Job.class;
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {}
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {}
+
+    /**
+     * Conditional UPDATEs (claim, cancel) bypass the entity events; callers
+     * report the committed result here with the job as it now reads.
+     */
+    public void onBulkTransition(Job job) {
+        if (job.getStatus() == JobStatus.COMPLETED)
+            record(Instant.now(), JobRollup.COMPLETED, job, amountOf(job.getTotalAmount()));
+        else if (job.getStatus() == JobStatus.CANCELLED)
+            record(Instant.now(), JobRollup.CANCELLED, job, 0.0);
+    }
+
+    private void record(Instant at, String event, Job job, double revenue) {
+        Key key = new Key(hourOf(at != null ? at : Instant.now()), event,
+                idOrZero(job.getServiceId()), idOrZero(job.getMechanicId()));
+        pending.merge(key, new Delta(1, revenue), Delta::plus);
+    }
+
+    /* ======================================================
+       💾 Write-behind flush
+    ====================================================== */
+    @Scheduled(fixedDelayString = "${app.rollups.flush-interval-ms:10000}")
+    public synchronized void flush() {
+        if (pending.isEmpty())
+            return;
+
+        Map<Key, Delta> batch = new HashMap<>();
+        for (Key key : pending.keySet()) {
+            Delta delta = pending.remove(key);
+            if (delta != null)
+                batch.put(key, delta);
+        }
+
+        List<Key> keys = new ArrayList<>(batch.keySet());
+        List<Object[]> rows = toRows(keys, batch);
+
+        for (int from = 0; from < rows.size(); from += FLUSH_BATCH_SIZE) {
+            int to = Math.min(from + FLUSH_BATCH_SIZE, rows.size());
+            try {
+                jdbcTemplate.batchUpdate(ADD_SQL, rows.subList(from, to));
+            } catch (DataAccessException e) {
+                // keep the unwritten deltas for the next attempt
+                for (int i = from; i < keys.size(); i++)
+                    pending.merge(keys.get(i), batch.get(keys.get(i)), Delta::plus);
+                throw e;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /* ======================================================
+       🧱 Backfill
+    ====================================================== */
+
+    /**
+     * Start of the hour {@code app.rollups.cutover} falls in, or null when it
+     * is not configured. That hour may already hold live rows, so it and every
+     * later hour belong to the live path.
+     */
+    public Instant backfillLimit() {
+        if (cutover == null || cutover.isBlank())
+            return null;
+        return Instant.ofEpochSecond(hourOf(Instant.parse(cutover.trim())) * SECONDS_PER_HOUR);
+    }
+
+    /**
+     * Rebuilds the rollup rows of {@code [from, to)} (whole hours) from the
+     * jobs table. Jobs do not record when they closed, so backfilled
+     * completions and cancellations land in the hour the job was created.
+     * Meant for history from before rollups existed; rows of the range are
+     * replaced, not added to, so {@code to} is clamped to {@link #backfillLimit()}:
+     * the hours written live are never deleted.
+     */
+    public synchronized BackfillResult backfill(Instant from, Instant to) {
+        Instant limit = backfillLimit();
+        if (limit == null)
+            throw new IllegalStateException("app.rollups.cutover is not set");
+
+        flush();
+
+        long fromHour = hourOf(from);
+        long toHour = Math.min(hourOf(to.plusSeconds(SECONDS_PER_HOUR - 1)), hourOf(limit));
+        if (toHour <= fromHour)
+            return new BackfillResult(0, 0);
+        Instant rangeStart = Instant.ofEpochSecond(fromHour * SECONDS_PER_HOUR);
+        Instant rangeEnd = Instant.ofEpochSecond(toHour * SECONDS_PER_HOUR);
+
+        Map<Key, Delta> totals = new HashMap<>();
+        long scanned = 0;
+        long afterId = 0;
+
+        while (true) {
+            List<JobRepository.RollupSource> chunk =
+                    jobRepository.findRollupSource(rangeStart, rangeEnd, afterId, Limit.of(BACKFILL_CHUNK));
+
+            for (JobRepository.RollupSource job : chunk) {
+                long hour = hourOf(job.getCreatedAt());
+                long serviceId = idOrZero(job.getServiceId());
+                long mechanicId = idOrZero(job.getMechanicId());
+
+                totals.merge(new Key(hour, JobRollup.CREATED, serviceId, mechanicId), new Delta(1, 0.0), Delta::plus);
+                if (job.getStatus() == JobStatus.COMPLETED)
+                    totals.merge(new Key(hour, JobRollup.COMPLETED, serviceId, mechanicId),
+                            new Delta(1, amountOf(job.getTotalAmount())), Delta::plus);
+                else if (job.getStatus() == JobStatus.CANCELLED)
+                    totals.merge(new Key(hour, JobRollup.CANCELLED, serviceId, mechanicId), new Delta(1, 0.0), Delta::plus);
+            }
+
+            scanned += chunk.size();
+            if (chunk.size() < BACKFILL_CHUNK)
+                break;
+            afterId = chunk.get(chunk.size() - 1).getId();
+        }
+
+        List<Object[]> rows = toRows(new ArrayList<>(totals.keySet()), totals);
+        transactionTemplate.executeWithoutResult(tx -> {
+            jdbcTemplate.update("DELETE FROM job_rollups WHERE bucket_hour >= ? AND bucket_hour < ?", fromHour, toHour);
+            for (int i = 0; i < rows.size(); i += FLUSH_BATCH_SIZE)
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows.subList(i, Math.min(i + FLUSH_BATCH_SIZE, rows.size())));
+        });
+
+        return new BackfillResult(scanned, rows.size());
+    }
+
+    /* ======================================================
+       📈 Range reads
+    ====================================================== */
+    public enum GroupBy { EVENT, SERVICE, MECHANIC }
+
+    /**
+     * Series for {@code [from, to)}, one point per bucket and event (and
+     * service / mechanic id when grouped by one); {@code daily} sums the
+     * hourly rows per UTC day.
+     */
+    public List<Map<String, Object>> series(Instant from, Instant to, GroupBy groupBy, boolean daily) {
+        long fromHour = hourOf(from);
+        long toHour = hourOf(to.plusSeconds(SECONDS_PER_HOUR - 1));
+
+        List<JobRollupRepository.RollupPoint> points = switch (groupBy) {
+            case EVENT -> jobRollupRepository.sumByEvent(fromHour, toHour);
+            case SERVICE -> jobRollupRepository.sumByService(fromHour, toHour);
+            case MECHANIC -> jobRollupRepository.sumByMechanic(fromHour, toHour);
+        };
+
+        // rows arrive ordered by hour, so a day's buckets are contiguous
+        Map<SeriesKey, Delta> merged = new LinkedHashMap<>();
+        for (JobRollupRepository.RollupPoint p : points) {
+            long bucket = daily ? Math.floorDiv(p.getBucketHour(), 24) * 24 : p.getBucketHour();
+            long dimension = p.getDimension() == null ? 0 : p.getDimension();
+            merged.merge(new SeriesKey(bucket, p.getEvent(), dimension),
+                    new Delta(p.getJobCount(), p.getRevenue() == null ? 0.0 : p.getRevenue()), Delta::plus);
+        }
+
+        List<Map<String, Object>> series = new ArrayList<>(merged.size());
+        merged.forEach((key, delta) -> {
+            Map<String, Object> point = new LinkedHashMap<>();
+            point.put("bucket", Instant.ofEpochSecond(key.bucketHour() * SECONDS_PER_HOUR));
+            point.put("event", key.event());
+            if (groupBy == GroupBy.SERVICE)
+                point.put("serviceId", key.dimension());
+            else if (groupBy == GroupBy.MECHANIC)
+                point.put("mechanicId", key.dimension());
+            point.put("jobCount", delta.jobCount());
+            point.put("revenue", delta.revenue());
+            series.add(point);
+        });
+        return series;
+    }
+
+    /* ======================================================
+       🔧 Helpers
+    ====================================================== */
+    private static long hourOf(Instant instant) {
+        return Math.floorDiv(instant.getEpochSecond(), SECONDS_PER_HOUR);
+    }
+
+    private static long idOrZero(Long id) {
+        return id == null ? 0 : id;
+    }
+
+    private static double amountOf(Double amount) {
+        return amount == null ? 0.0 : amount;
+    }
+
+    // One upsert parameter row per key, in the order of keys
+    private static List<Object[]> toRows(List<Key> keys, Map<Key, Delta> deltas) {
+        List<Object[]> rows = new ArrayList<>(keys.size());
+        for (Key k : keys) {
+            Delta d = deltas.get(k);
+            rows.add(new Object[]{k.bucketHour(), k.event(), k.serviceId(), k.mechanicId(), d.jobCount(), d.revenue()});
+        }
+        return rows;
+    }
+
+    private static int statusIndex(EntityPersister persister) {
+        String[] names = persister.getPropertyNames();
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals("status"))
+                return i;
+        }
+        throw new IllegalStateException("Job has no status property");
+    }
+}
@@ -0,0 +1,466 @@
+package com.spotserve.service;
+
+import com.spotserve.model.Feedback;
+import com.spotserve.model.Job;
+import com.spotserve.model.JobStatus;
+import com.spotserve.model.MechanicRatingStats;
+import com.spotserve.model.User;
+import com.spotserve.repository.JobRepository;
+import com.spotserve.repository.MechanicRatingStatsRepository;
+import com.spotserve.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Mechanics ranked by a Bayesian-smoothed rating plus small boosts for
+ * completed-job volume and recent activity, kept sorted in memory.
+ *
+ * score = (C·m + ratingSum) / (C + ratingCount)
+ *       + jobWeight · log10(1 + completedJobs)
+ *       + recencyWeight · 0.5^(daysSinceLastActive / halfLifeDays)
+ *
+ * where m is the mean of all ratings and C the prior weight, so a handful
+ * of five-star reviews cannot outrank a long good record. One ordered set
+ * holds every mechanic and one per grid cell holds the located ones; a
+ * committed review, completion or profile change re-inserts that single
+ * mechanic (O(log n)). Reads walk the sets from the top, and "near me"
+ * merges the few cells around the point. A periodic rescore reloads
+ * everything from the database, which also refreshes m, the recency decay
+ * and positions reported through location pings; changes committed while it
+ * reads are replayed onto the rebuilt board before it is swapped in.
+ *
+ * "Last active" is the creation time of the mechanic's latest completed
+ * job on both paths, since that is the only completion-related time the
+ * jobs table keeps.
+ */
+@Service
+public class MechanicLeaderboard implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    // ~28 km per cell at the equator
+    private static final double CELL_SIZE_DEG = 0.25;
+    private static final long COLUMNS = Math.round(360.0 / CELL_SIZE_DEG);
+    private static final double DEFAULT_MEAN = 3.0;
+    private static final double MILLIS_PER_DAY = 86_400_000.0;
+
+    // Highest score first; the id keeps mechanics with equal scores apart
+    private static final Comparator<Standing> RANKING = Comparator
+            .comparingDouble(Standing::score).reversed()
+            .thenComparingLong(Standing::mechanicId);
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private MechanicRatingStatsRepository ratingStatsRepository;
+
+    @Value("${app.leaderboard.prior-weight:10}")
+    private double priorWeight;
+
+    @Value("${app.leaderboard.job-weight:0.25}")
+    private double jobWeight;
+
+    @Value("${app.leaderboard.recency-weight:0.1}")
+    private double recencyWeight;
+
+    @Value("${app.leaderboard.recency-half-life-days:30}")
+    private double recencyHalfLifeDays;
+
+    private volatile Board board = new Board(DEFAULT_MEAN);
+
+    // Changes applied while a rescore is reading the database (guarded by this; null when none runs)
+    private List<Consumer<Board>> pendingDuringRescore;
+
+    private final Object rescoreLock = new Object();
+
+    /** One mechanic's ranking inputs and the score they produced. Immutable. */
+    public record Standing(long mechanicId, String name, Double lat, Double lng,
+                           long ratingSum, long ratingCount, long completedJobs,
+                           long lastActiveMillis, double score) {
+
+        public double averageRating() {
+            return ratingCount == 0 ? 0.0 : (double) ratingSum / ratingCount;
+        }
+
+        // (0, 0) is what a mechanic added without a location gets
+        boolean located() {
+            return lat != null && lng != null && (lat != 0.0 || lng != 0.0);
+        }
+    }
+
+    /** A leaderboard row; {@code distanceKm} is only set for area queries. */
+    public record Ranked(int rank, Standing standing, Double distanceKm) {}
+
+    // Everything one rescore produced; swapped in whole so readers never see a half-built board
+    private static final class Board {
+        final double priorMean;
+        final Map<Long, Standing> standings = new ConcurrentHashMap<>();
+        final NavigableSet<Standing> global = new ConcurrentSkipListSet<>(RANKING);
+        final Map<Long, NavigableSet<Standing>> cells = new ConcurrentHashMap<>();
+
+        Board(double priorMean) {
+            this.priorMean = priorMean;
+        }
+
+        // New entry goes in before the old one leaves, so a reader never misses the mechanic;
+        // readers skip whichever of the two the standings map does not point at
+        void put(Standing previous, Standing next) {
+            if (previous != null && RANKING.compare(previous, next) == 0) {
+                // same rank key: the sets would treat next as already present
+                unlink(previous);
+                previous = null;
+            }
+            global.add(next);
+            if (next.located())
+                cells.computeIfAbsent(cellOf(next.lat(), next.lng()), c -> new ConcurrentSkipListSet<>(RANKING)).add(next);
+            standings.put(next.mechanicId(), next);
+            if (previous != null)
+                unlink(previous);
+        }
+
+        void remove(long mechanicId) {
+            Standing previous = standings.remove(mechanicId);
+            if (previous != null)
+                unlink(previous);
+        }
+
+        private void unlink(Standing s) {
+            global.remove(s);
+            if (s.located()) {
+                NavigableSet<Standing> cell = cells.get(cellOf(s.lat(), s.lng()));
+                if (cell != null)
+                    cell.remove(s);
+            }
+        }
+
+        boolean isCurrent(Standing s) {
+            return standings.get(s.mechanicId()) == s;
+        }
+    }
+
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    /* ======================================================
+       🏆 Read
+    ====================================================== */
+
+    /** The {@code k} best mechanics overall. */
+    public List<Ranked> top(int k) {
+        Board b = board;
+        List<Ranked> result = new ArrayList<>(k);
+        for (Standing s : b.global) {
+            if (result.size() == k)
+                break;
+            if (b.isCurrent(s))
+                result.add(new Ranked(result.size() + 1, s, null));
+        }
+        return result;
+    }
+
+    /**
+     * The {@code k} best located mechanics within {@code radiusKm} of the
+     * point: a k-way merge over the ordered sets of the cells covering the
+     * radius, stopping as soon as k mechanics in range are found.
+     */
+    public List<Ranked> topNear(double lat, double lng, double radiusKm, int k) {
+        Board b = board;
+
+        GeoKernel.BoundingBox box = GeoKernel.boundingBox(lat, lng, radiusKm);
+
+        long minRow = cellRow(box.minLat());
+        long maxRow = cellRow(box.maxLat());
+        long minCol = cellCol(box.minLng());
+        long maxCol = cellCol(box.maxLng());
+        if (box.spansAllLongitudes() || maxCol - minCol + 1 >= COLUMNS) {
+            minCol = 0;
+            maxCol = COLUMNS - 1;
+        }
+
+        // heads of every non-empty cell, best first
+        PriorityQueue<CellCursor> heads = new PriorityQueue<>((x, y) -> RANKING.compare(x.head, y.head));
+        for (long row = minRow; row <= maxRow; row++) {
+            for (long col = minCol; col <= maxCol; col++) {
+                NavigableSet<Standing> cell = b.cells.get(cellKey(row, Math.floorMod(col, COLUMNS)));
+                if (cell != null) {
+                    CellCursor cursor = new CellCursor(cell.iterator());
+                    if (cursor.advance())
+                        heads.add(cursor);
+                }
+            }
+        }
+
+        List<Ranked> result = new ArrayList<>(k);
+        while (result.size() < k && !heads.isEmpty()) {
+            CellCursor cursor = heads.poll();
+            Standing s = cursor.head;
+
+            if (b.isCurrent(s)) {
+                double distance = GeoKernel.haversineKm(lat, lng, s.lat(), s.lng());
+                if (distance <= radiusKm)
+                    result.add(new Ranked(result.size() + 1, s, distance));
+            }
+
+            if (cursor.advance())
+                heads.add(cursor);
+        }
+        return result;
+    }
+
+    private static final class CellCursor {
+        final Iterator<Standing> it;
+        Standing head;
+
+        CellCursor(Iterator<Standing> it) {
+            this.it = it;
+        }
+
+        boolean advance() {
+            head = it.hasNext() ? it.next() : null;
+            return head != null;
+        }
+    }
+
+    /* ======================================================
+       🔄 Rescore from the database
+    ====================================================== */
+    // runs after MechanicRatingService has rebuilt the rating rows it reads
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @Scheduled(fixedDelayString = "${app.leaderboard.rescore-interval-ms:3600000}",
+            initialDelayString = "${app.leaderboard.rescore-interval-ms:3600000}")
+    public void rescore() {
+        synchronized (rescoreLock) {
+            // start logging before the first read so nothing committed from here on is lost;
+            // a change that lands between this and a read may count twice until the next rescore
+            synchronized (this) {
+                pendingDuringRescore = new ArrayList<>();
+            }
+            try {
+                Board next = load();
+                synchronized (this) {
+                    for (Consumer<Board> change : pendingDuringRescore)
+                        change.accept(next);
+                    board = next;
+                }
+            } finally {
+                synchronized (this) {
+                    pendingDuringRescore = null;
+                }
+            }
+        }
+    }
+
+    private Board load() {
+        Map<Long, MechanicRatingStats> ratings = new HashMap<>();
+        long allSum = 0;
+        long allCount = 0;
+        for (MechanicRatingStats stats : ratingStatsRepository.findAll()) {
+            ratings.put(stats.getMechanicId(), stats);
+            allSum += stats.getRatingSum();
+            allCount += stats.getRatingCount();
+        }
+
+        Map<Long, JobRepository.MechanicCompletion> completions = new HashMap<>();
+        for (JobRepository.MechanicCompletion row : jobRepository.findCompletionsByMechanic(JobStatus.COMPLETED))
+            completions.put(row.getMechanicId(), row);
+
+        Board next = new Board(allCount == 0 ? DEFAULT_MEAN : (double) allSum / allCount);
+        long now = System.currentTimeMillis();
+
+        for (UserRepository.UserCard card : userRepository.findCardsByRole("MECHANIC")) {
+            MechanicRatingStats stats = ratings.get(card.getId());
+            JobRepository.MechanicCompletion done = completions.get(card.getId());
+            Instant lastCompleted = done == null ? null : done.getLastCreatedAt();
+
+            next.put(null, scored(next, new Standing(card.getId(), card.getName(),
+                    card.getLatitude(), card.getLongitude(),
+                    stats == null ? 0 : stats.getRatingSum(),
+                    stats == null ? 0 : stats.getRatingCount(),
+                    done == null ? 0 : done.getCompletedJobs(),
+                    lastCompleted == null ? 0 : lastCompleted.toEpochMilli(),
+                    0), now));
+        }
+        return next;
+    }
+
+    /* ======================================================
+       ✏️ Incremental updates (committed changes only)
+    ====================================================== */
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof Feedback f)
+            adjust(f.getMechanicId(), s -> withRating(s, f.getRating(), 1));
+        else if (entity instanceof User u && "MECHANIC".equals(u.getRole()))
+            upsertProfile(u);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof User u) {
+            if ("MECHANIC".equals(u.getRole()))
+                upsertProfile(u);
+            else
+                remove(u.getId());
+        } else if (entity instanceof Job job && job.getStatus() == JobStatus.COMPLETED
+                && event.getOldState() != null
+                && event.getOldState()[statusIndex(event.getPersister())] != JobStatus.COMPLETED) {
+            // same "last active" as rescore reads: the latest completed job's creation time
+            long createdAt = job.getCreatedAt() == null ? 0 : job.getCreatedAt().toEpochMilli();
+            adjust(job.getMechanicId(), s -> new Standing(s.mechanicId(), s.name(), s.lat(), s.lng(),
+                    s.ratingSum(), s.ratingCount(), s.completedJobs() + 1,
+                    Math.max(s.lastActiveMillis(), createdAt), 0));
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof Feedback f)
+            adjust(f.getMechanicId(), s -> withRating(s, f.getRating(), -1));
+        else if (entity instanceof User u)
+            remove(u.getId());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> type = persister.getMappedClass();
+        return type == Feedback.class || type == Job.class || type == User.class;
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {}
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {}
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {}
+
+    private void adjust(Long mechanicId, UnaryOperator<Standing> change) {
+        if (mechanicId == null)
+            return;
+        apply(b -> {
+            Standing previous = b.standings.get(mechanicId);
+            if (previous != null)
+                b.put(previous, scored(b, change.apply(previous), System.currentTimeMillis()));
+        });
+    }
+
+    private void upsertProfile(User u) {
+        apply(b -> {
+            Standing previous = b.standings.get(u.getId());
+            Standing next = previous == null
+                    ? new Standing(u.getId(), u.getName(), u.getLatitude(), u.getLongitude(), 0, 0, 0, 0, 0)
+                    : new Standing(u.getId(), u.getName(), u.getLatitude(), u.getLongitude(),
+                            previous.ratingSum(), previous.ratingCount(), previous.completedJobs(),
+                            previous.lastActiveMillis(), 0);
+            b.put(previous, scored(b, next, System.currentTimeMillis()));
+        });
+    }
+
+    private void remove(Long mechanicId) {
+        if (mechanicId != null)
+            apply(b -> b.remove(mechanicId));
+    }
+
+    // Applies a change to the live board and, while a rescore is reading, logs it for the board being built
+    private synchronized void apply(Consumer<Board> change) {
+        change.accept(board);
+        if (pendingDuringRescore != null)
+            pendingDuringRescore.add(change);
+    }
+
+    /* ======================================================
+       🔧 Helpers
+    ====================================================== */
+    private static Standing withRating(Standing s, Integer rating, int sign) {
+        if (rating == null)
+            return s;
+        return new Standing(s.mechanicId(), s.name(), s.lat(), s.lng(),
+                s.ratingSum() + sign * rating, Math.max(0, s.ratingCount() + sign),
+                s.completedJobs(), s.lastActiveMillis(), 0);
+    }
+
+    private Standing scored(Board b, Standing s, long now) {
+        double bayesian = (priorWeight * b.priorMean + s.ratingSum()) / (priorWeight + s.ratingCount());
+        double volume = jobWeight * Math.log10(1 + s.completedJobs());
+        double recency = s.lastActiveMillis() <= 0 ? 0.0
+                : recencyWeight * Math.pow(0.5, Math.max(0, now - s.lastActiveMillis())
+                        / (recencyHalfLifeDays * MILLIS_PER_DAY));
+
+        return new Standing(s.mechanicId(), s.name(), s.lat(), s.lng(), s.ratingSum(), s.ratingCount(),
+                s.completedJobs(), s.lastActiveMillis(), bayesian + volume + recency);
+    }
+
+    private static long cellRow(double lat) {
+        return (long) Math.floor((lat + 90.0) / CELL_SIZE_DEG);
+    }
+
+    private static long cellCol(double lng) {
+        return (long) Math.floor((lng + 180.0) / CELL_SIZE_DEG);
+    }
+
+    private static long cellKey(long row, long col) {
+        return row * COLUMNS + col;
+    }
+
+    private static long cellOf(double lat, double lng) {
+        return cellKey(cellRow(lat), Math.floorMod(cellCol(lng), COLUMNS));
+    }
+
+    private static int statusIndex(EntityPersister persister) {
+        String[] names = persister.getPropertyNames();
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals("status"))
+                return i;
+        }
+        throw new IllegalStateException("Job has no status property");
+    }
+}
@@ -0,0 +1,98 @@
+package com.spotserve.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latest known GPS position of each mechanic, fed by frequent location pings.
+ *
+ * Pings only touch memory: the newest position per mechanic replaces the
+ * previous one, and a dirty map remembers which mechanics moved since the
+ * last flush. A scheduled flush writes those positions to the users table
+ * as one JDBC batch, so thousands of pings become one UPDATE per moved
+ * mechanic per interval and never hold a pooled connection per request.
+ */
+@Service
+public class MechanicLocationRegistry {
+
+    private static final String UPDATE_SQL = "UPDATE users SET latitude = ?, longitude = ? WHERE id = ?";
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, Position> latest = new ConcurrentHashMap<>();
+    private final Map<Long, Position> dirty = new ConcurrentHashMap<>();
+
+    public record Position(double lat, double lng, long receivedAtMillis) {}
+
+    /* ======================================================
+       📍 Ingest
+    ====================================================== */
+    public void update(long mechanicId, double lat, double lng) {
+        Position position = new Position(lat, lng, System.currentTimeMillis());
+        latest.put(mechanicId, position);
+        dirty.put(mechanicId, position);
+    }
+
+    public Position positionOf(long mechanicId) {
+        return latest.get(mechanicId);
+    }
+
+    public void forget(long mechanicId) {
+        latest.remove(mechanicId);
+        dirty.remove(mechanicId);
+    }
+
+    /* ======================================================
+       💾 Write-behind flush
+    ====================================================== */
+    @Scheduled(fixedDelayString = "${app.location.flush-interval-ms:5000}")
+    public void flush() {
+        if (dirty.isEmpty())
+            return;
+
+        List<Long> ids = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+
+        for (Map.Entry<Long, Position> entry : dirty.entrySet()) {
+            Position position = entry.getValue();
+
+            // a newer ping that lands meanwhile stays dirty for the next flush
+            if (!dirty.remove(entry.getKey(), position))
+                continue;
+
+            ids.add(entry.getKey());
+            rows.add(new Object[]{position.lat(), position.lng(), entry.getKey()});
+        }
+
+        for (int from = 0; from < rows.size(); from += FLUSH_BATCH_SIZE) {
+            int to = Math.min(from + FLUSH_BATCH_SIZE, rows.size());
+            try {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, rows.subList(from, to));
+            } catch (DataAccessException e) {
+                // keep the unwritten positions for the next attempt unless a newer ping replaced them
+                for (int i = from; i < rows.size(); i++) {
+                    Position position = latest.get(ids.get(i));
+                    if (position != null)
+                        dirty.putIfAbsent(ids.get(i), position);
+                }
+                throw e;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,143 @@
+package com.spotserve.service;
+
+import com.spotserve.model.Feedback;
+import com.spotserve.model.MechanicRatingStats;
+import com.spotserve.repository.FeedbackRepository;
+import com.spotserve.repository.MechanicRatingStatsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-mechanic rating aggregates ({@code mechanic_rating_stats}).
+ *
+ * Feedback writes adjust the aggregate with one atomic statement inside the
+ * caller's transaction, so a rolled back review never counts and two
+ * concurrent reviews never lose an update. {@link #rebuild()} compares
+ * every aggregate with a GROUP BY over {@code feedback} and rewrites the
+ * ones that drifted (or were never built, e.g. reviews from before this
+ * table existed).
+ */
+@Service
+public class MechanicRatingService {
+
+    @Autowired
+    private MechanicRatingStatsRepository statsRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /* ======================================================
+       📊 Read
+    ====================================================== */
+
+    /** Aggregate of one mechanic; all zeros when they have no reviews. */
+    public MechanicRatingStats statsOf(Long mechanicId) {
+        return statsRepository.findById(mechanicId)
+                .orElseGet(() -> new MechanicRatingStats(mechanicId));
+    }
+
+    /* ======================================================
+       ✏️ Write path (joins the feedback transaction)
+    ====================================================== */
+    @Transactional
+    public void onFeedbackAdded(Feedback feedback) {
+        statsRepository.addRating(feedback.getMechanicId(), feedback.getRating(), Instant.now());
+    }
+
+    @Transactional
+    public void onFeedbackRemoved(Feedback feedback) {
+        statsRepository.removeRating(feedback.getMechanicId(), feedback.getRating(), Instant.now());
+    }
+
+    /* ======================================================
+       🔄 Consistency check
+    ====================================================== */
+
+    /** Rewrites every aggregate that disagrees with {@code feedback}; returns how many were fixed. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE) // readers such as the leaderboard load from these rows at startup
+    @Scheduled(fixedDelayString = "${app.ratings.reconcile-interval-ms:3600000}",
+            initialDelayString = "${app.ratings.reconcile-interval-ms:3600000}")
+    public synchronized int rebuild() {
+        Map<Long, long[]> expected = new HashMap<>();
+        for (FeedbackRepository.RatingAggregate row : feedbackRepository.aggregateRatings())
+            expected.put(row.getMechanicId(), totalsOf(row));
+
+        Set<Long> drifted = new HashSet<>();
+        for (MechanicRatingStats stats : statsRepository.findAll()) {
+            long[] want = expected.remove(stats.getMechanicId());
+            if (want == null ? stats.getRatingCount() != 0 : !Arrays.equals(want, totalsOf(stats)))
+                drifted.add(stats.getMechanicId());
+        }
+        drifted.addAll(expected.keySet()); // reviewed mechanics without a row yet
+
+        int fixed = 0;
+        for (Long mechanicId : drifted) {
+            try {
+                transactionTemplate.executeWithoutResult(tx -> rebuildOne(mechanicId));
+                fixed++;
+            } catch (DataAccessException e) {
+                // lost a race with a first review of this mechanic; the next check retries
+            }
+        }
+        return fixed;
+    }
+
+    // Row lock first, then recount: a review committing meanwhile either is
+    // already in the count or waits on the lock and adds itself afterwards
+    private void rebuildOne(Long mechanicId) {
+        MechanicRatingStats stats = statsRepository.findForUpdate(mechanicId).orElse(null);
+        FeedbackRepository.RatingAggregate actual = feedbackRepository.aggregateRatingsOf(mechanicId).orElse(null);
+
+        if (actual == null) {
+            if (stats != null)
+                statsRepository.delete(stats);
+            return;
+        }
+
+        if (stats == null)
+            stats = new MechanicRatingStats(mechanicId);
+        long[] totals = totalsOf(actual);
+        stats.setTotals(totals[0], totals[1], Arrays.copyOfRange(totals, 2, 7));
+        statsRepository.save(stats);
+    }
+
+    /* ======================================================
+       🔧 Helpers
+    ====================================================== */
+
+    // {sum, count, 1★ .. 5★}
+    private static long[] totalsOf(FeedbackRepository.RatingAggregate row) {
+        return new long[]{
+                nz(row.getRatingSum()), nz(row.getRatingCount()),
+                nz(row.getStars1()), nz(row.getStars2()), nz(row.getStars3()),
+                nz(row.getStars4()), nz(row.getStars5())};
+    }
+
+    private static long[] totalsOf(MechanicRatingStats stats) {
+        long[] h = stats.getHistogram();
+        return new long[]{stats.getRatingSum(), stats.getRatingCount(), h[0], h[1], h[2], h[3], h[4]};
+    }
+
+    private static long nz(Long value) {
+        return value == null ? 0 : value;
+    }
+}
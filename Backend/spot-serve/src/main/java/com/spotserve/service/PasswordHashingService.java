@@ -0,0 +1,186 @@
+package com.spotserve.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt hashing and verification off the request threads.
+ *
+ * Hashes are CPU-bound, so they get their own pool sized to the core count
+ * with a bounded queue in front of it. When the queue is full the returned
+ * future fails at once with {@link HashingBusyException} instead of parking
+ * another Tomcat thread, and the caller answers 503 with Retry-After.
+ *
+ * What callers do with the hash (saving the user, signing a token) blocks
+ * on the database, so it must not run on the hash workers: continue with
+ * {@code thenApplyAsync(..., followUpExecutor())}, a separate IO-sized pool.
+ */
+@Service
+public class PasswordHashingService {
+
+    @Value("${app.password.hash-threads:0}")
+    private int configuredThreads;
+
+    @Value("${app.password.hash-queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${app.password.follow-up-threads:16}")
+    private int followUpThreads;
+
+    @Value("${app.password.retry-after-seconds:2}")
+    private int retryAfterSeconds;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private ThreadPoolExecutor executor;
+
+    private ThreadPoolExecutor followUpExecutor;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder rehashed = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /** Outcome of a login check; {@code upgradedHash} is set when the stored hash should be replaced. */
+    public record Verification(boolean matches, String upgradedHash) {}
+
+    /** The hashing queue is full; retry after {@link #getRetryAfterSeconds()}. */
+    public static class HashingBusyException extends RuntimeException {
+        public HashingBusyException() {
+            super("Password hashing is busy");
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        int threads = configuredThreads > 0 ? configuredThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger seq = new AtomicInteger();
+
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        // unbounded queue: its intake is already capped by the hash pool in front of it
+        AtomicInteger followUpSeq = new AtomicInteger();
+        followUpExecutor = new ThreadPoolExecutor(followUpThreads, followUpThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                r -> {
+                    Thread t = new Thread(r, "password-follow-up-" + followUpSeq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        followUpExecutor.shutdown();
+    }
+
+    /* ======================================================
+       🔐 Hashing
+    ====================================================== */
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        return submit(() -> encodedPassword != null && passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Checks a login password and, when it matches a hash stored with an
+     * outdated cost, computes the replacement hash on the same worker.
+     */
+    public CompletableFuture<Verification> verify(String rawPassword, String encodedPassword) {
+        return submit(() -> {
+            if (encodedPassword == null || !passwordEncoder.matches(rawPassword, encodedPassword))
+                return new Verification(false, null);
+
+            if (!passwordEncoder.upgradeEncoding(encodedPassword))
+                return new Verification(true, null);
+
+            rehashed.increment();
+            return new Verification(true, passwordEncoder.encode(rawPassword));
+        });
+    }
+
+    /** Pool for the blocking work that follows a hash (repository saves, token signing). */
+    public Executor followUpExecutor() {
+        return followUpExecutor;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    /* ======================================================
+       📊 Metrics
+    ====================================================== */
+    public Map<String, Object> metrics() {
+        long done = completed.sum();
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("threads", executor.getMaximumPoolSize());
+        metrics.put("active", executor.getActiveCount());
+        metrics.put("queueDepth", executor.getQueue().size());
+        metrics.put("queueCapacity", executor.getQueue().size() + executor.getQueue().remainingCapacity());
+        metrics.put("completed", done);
+        metrics.put("rejected", rejected.sum());
+        metrics.put("rehashed", rehashed.sum());
+        metrics.put("averageMillis", done == 0 ? 0.0 : totalNanos.sum() / (double) done / 1_000_000);
+        metrics.put("maxMillis", maxNanos.get() / 1_000_000.0);
+        metrics.put("followUpActive", followUpExecutor.getActiveCount());
+        metrics.put("followUpQueueDepth", followUpExecutor.getQueue().size());
+        return metrics;
+    }
+
+    /* ======================================================
+       🔧 Helpers
+    ====================================================== */
+
+    // Latency is measured from submission, so it includes time spent queued
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long queuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return task.get();
+                } finally {
+                    long elapsed = System.nanoTime() - queuedAt;
+                    completed.increment();
+                    totalNanos.add(elapsed);
+                    maxNanos.accumulateAndGet(elapsed, Math::max);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new HashingBusyException());
+        }
+    }
+}
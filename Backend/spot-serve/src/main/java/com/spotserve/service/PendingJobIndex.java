@@ -0,0 +1,311 @@
+package com.spotserve.service;
+
+import com.spotserve.model.Job;
+import com.spotserve.model.JobStatus;
+import com.spotserve.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory uniform grid of open (Pending, unassigned) jobs.
+ *
+ * Writes go to a concurrent id → entry map. Reads use an immutable columnar
+ * snapshot (ids / lat / lng in primitive arrays, sorted by grid cell) that is
+ * rebuilt lazily after the map changes, so a burst of creates costs one
+ * rebuild. Because cells are sorted row by row, the cells a radius query
+ * needs form one contiguous slice per grid row, and distances are computed
+ * in bulk over that slice. The index is rebuilt from the database on
+ * startup and kept in sync by the controllers on create / accept / cancel.
+ */
+@Service
+public class PendingJobIndex {
+
+    // ~5.5 km per cell at the equator
+    private static final double CELL_SIZE_DEG = 0.05;
+    private static final long COLUMNS = Math.round(360.0 / CELL_SIZE_DEG);
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    // Pending jobs without pickup coordinates (can only be listed, never matched by radius)
+    private final Set<Long> unlocated = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong modCount = new AtomicLong();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    private record Entry(long jobId, double lat, double lng, long cell) {}
+
+    /** A job matched by a query, with its distance from the query point. */
+    public record Hit(long jobId, double distanceKm) {}
+
+    /* ======================================================
+       🔄 Startup load
+    ====================================================== */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        entries.clear();
+        unlocated.clear();
+        jobRepository.findByStatus(JobStatus.PENDING).forEach(this::add);
+        modCount.incrementAndGet();
+    }
+
+    /* ======================================================
+       ✏️ Sync hooks
+    ====================================================== */
+    public void add(Job job) {
+        if (job == null || job.getId() == null)
+            return;
+
+        if (job.getStatus() != JobStatus.PENDING || job.getMechanicId() != null) {
+            remove(job.getId());
+            return;
+        }
+
+        if (job.getPickupLat() == null || job.getPickupLng() == null) {
+            entries.remove(job.getId());
+            unlocated.add(job.getId());
+            modCount.incrementAndGet();
+            return;
+        }
+
+        double lat = job.getPickupLat();
+        double lng = job.getPickupLng();
+        unlocated.remove(job.getId());
+        entries.put(job.getId(), new Entry(job.getId(), lat, lng, cellKey(cellRow(lat), wrapCol(cellCol(lng)))));
+        modCount.incrementAndGet();
+    }
+
+    public void remove(Long jobId) {
+        if (jobId == null)
+            return;
+
+        boolean changed = unlocated.remove(jobId);
+        changed |= entries.remove(jobId) != null;
+        if (changed)
+            modCount.incrementAndGet();
+    }
+
+    public int size() {
+        return entries.size() + unlocated.size();
+    }
+
+    /* ======================================================
+       🔍 Queries
+    ====================================================== */
+
+    /**
+     * Jobs within {@code radiusKm} of the given point, nearest first.
+     * Only the cells overlapping the radius' bounding box are visited.
+     */
+    public List<Hit> findWithin(double lat, double lng, double radiusKm) {
+        return nearest(lat, lng, radiusKm, Integer.MAX_VALUE);
+    }
+
+    /** The {@code k} nearest jobs within {@code radiusKm}, nearest first. */
+    public List<Hit> nearest(double lat, double lng, double radiusKm, int k) {
+        Snapshot s = currentSnapshot();
+        if (s.size() == 0)
+            return List.of();
+
+        // same sphere as the distances, so a job right at the radius is never outside the box
+        GeoKernel.BoundingBox box = GeoKernel.boundingBox(lat, lng, radiusKm);
+
+        long minRow = cellRow(box.minLat());
+        long maxRow = cellRow(box.maxLat());
+        long minCol = cellCol(box.minLng());
+        long maxCol = cellCol(box.maxLng());
+        if (box.spansAllLongitudes() || maxCol - minCol + 1 >= COLUMNS) {
+            minCol = 0;
+            maxCol = COLUMNS - 1;
+        }
+
+        // pass 1: the contiguous snapshot slices covered by the box (at most two per row across the antimeridian)
+        int[] slices = new int[(int) (maxRow - minRow + 1) * 4];
+        int sliceCount = 0;
+
+        for (long row = minRow; row <= maxRow; row++) {
+            if (minCol < 0) {
+                sliceCount = addSlice(s, row, minCol + COLUMNS, COLUMNS - 1, slices, sliceCount);
+                sliceCount = addSlice(s, row, 0, maxCol, slices, sliceCount);
+            } else if (maxCol >= COLUMNS) {
+                sliceCount = addSlice(s, row, minCol, COLUMNS - 1, slices, sliceCount);
+                sliceCount = addSlice(s, row, 0, maxCol - COLUMNS, slices, sliceCount);
+            } else {
+                sliceCount = addSlice(s, row, minCol, maxCol, slices, sliceCount);
+            }
+        }
+
+        int candidates = 0;
+        for (int i = 0; i < sliceCount; i += 2)
+            candidates += slices[i + 1] - slices[i];
+
+        // pass 2: bulk distances into compact candidate columns, keep those in range
+        double[] dist = new double[candidates];
+        int[] position = new int[candidates]; // snapshot position of each candidate
+        int[] matched = new int[candidates];
+        int offset = 0;
+        int n = 0;
+
+        for (int i = 0; i < sliceCount; i += 2) {
+            int from = slices[i];
+            int to = slices[i + 1];
+            GeoKernel.distancesKm(lat, lng, s.lat, s.lng, from, to, dist, offset);
+
+            for (int r = from; r < to; r++, offset++) {
+                position[offset] = r;
+                if (dist[offset] <= radiusKm)
+                    matched[n++] = offset;
+            }
+        }
+
+        int count = GeoKernel.topK(matched, n, dist, k);
+
+        List<Hit> hits = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+            hits.add(new Hit(s.ids[position[matched[i]]], dist[matched[i]]));
+        return hits;
+    }
+
+    /**
+     * Every pending job ordered by distance from the given point; jobs
+     * without pickup coordinates come last. Served entirely from memory.
+     */
+    public List<Hit> findAll(double lat, double lng) {
+        Snapshot s = currentSnapshot();
+
+        double[] dist = new double[s.size()];
+        GeoKernel.distancesKm(lat, lng, s.lat, s.lng, 0, s.size(), dist, 0);
+
+        int[] order = new int[s.size()];
+        for (int i = 0; i < order.length; i++)
+            order[i] = i;
+        GeoKernel.sortByDistance(order, order.length, dist);
+
+        List<Hit> hits = new ArrayList<>(order.length + unlocated.size());
+        for (int i : order)
+            hits.add(new Hit(s.ids[i], dist[i]));
+
+        for (Long id : unlocated)
+            hits.add(new Hit(id, Double.MAX_VALUE));
+
+        return hits;
+    }
+
+    /* ======================================================
+       🧱 Columnar snapshot
+    ====================================================== */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(-1, new long[0], new double[0], new double[0], new long[0]);
+
+        final long version;
+        final long[] ids;
+        final double[] lat;
+        final double[] lng;
+        final long[] cells; // cell key of each row, ascending
+
+        Snapshot(long version, long[] ids, double[] lat, double[] lng, long[] cells) {
+            this.version = version;
+            this.ids = ids;
+            this.lat = lat;
+            this.lng = lng;
+            this.cells = cells;
+        }
+
+        int size() {
+            return ids.length;
+        }
+    }
+
+    private Snapshot currentSnapshot() {
+        Snapshot s = snapshot;
+        long version = modCount.get();
+        if (s.version == version)
+            return s;
+
+        synchronized (this) {
+            s = snapshot;
+            version = modCount.get();
+            if (s.version != version) {
+                s = buildSnapshot(version);
+                snapshot = s;
+            }
+            return s;
+        }
+    }
+
+    private Snapshot buildSnapshot(long version) {
+        Entry[] sorted = entries.values().toArray(new Entry[0]);
+        Arrays.sort(sorted, (a, b) -> Long.compare(a.cell(), b.cell()));
+
+        int n = sorted.length;
+        long[] ids = new long[n];
+        double[] lat = new double[n];
+        double[] lng = new double[n];
+        long[] cells = new long[n];
+
+        for (int i = 0; i < n; i++) {
+            ids[i] = sorted[i].jobId();
+            lat[i] = sorted[i].lat();
+            lng[i] = sorted[i].lng();
+            cells[i] = sorted[i].cell();
+        }
+
+        return new Snapshot(version, ids, lat, lng, cells);
+    }
+
+    // Appends the [from, to) snapshot range of cells (row, fromCol..toCol) if it is non-empty
+    private static int addSlice(Snapshot s, long row, long fromCol, long toCol, int[] slices, int sliceCount) {
+        int from = lowerBound(s.cells, cellKey(row, fromCol));
+        int to = lowerBound(s.cells, cellKey(row, toCol) + 1);
+        if (from < to) {
+            slices[sliceCount++] = from;
+            slices[sliceCount++] = to;
+        }
+        return sliceCount;
+    }
+
+    private static int lowerBound(long[] sorted, long key) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < key)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+
+    /* ======================================================
+       🔧 Grid helpers
+    ====================================================== */
+    private static long cellRow(double lat) {
+        return (long) Math.floor((lat + 90.0) / CELL_SIZE_DEG);
+    }
+
+    private static long cellCol(double lng) {
+        return (long) Math.floor((lng + 180.0) / CELL_SIZE_DEG);
+    }
+
+    private static long wrapCol(long col) {
+        return Math.floorMod(col, COLUMNS);
+    }
+
+    private static long cellKey(long row, long col) {
+        return (row << 32) | (col & 0xffffffffL);
+    }
+}
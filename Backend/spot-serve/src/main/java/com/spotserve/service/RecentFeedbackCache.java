@@ -0,0 +1,134 @@
+package com.spotserve.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spotserve.model.Feedback;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The homepage "recent feedback" feed, rendered once and kept as JSON bytes
+ * with a strong ETag ({@link RenderedJson}).
+ *
+ * Committed feedback inserts, updates and deletes bump a version; the next
+ * read after a bump re-renders. Readers that miss at the same time queue on
+ * one lock and all get the snapshot the first of them built, so a burst
+ * costs one query. The snapshot also expires after
+ * {@code app.feedback.recent-max-age-ms}, which picks up renamed users.
+ */
+@Service
+public class RecentFeedbackCache implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private FeedbackService feedbackService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.feedback.recent-max-age-ms:300000}")
+    private long maxAgeMs;
+
+    private final AtomicLong version = new AtomicLong();
+    private final Object renderLock = new Object();
+
+    private volatile Rendered current;
+
+    /** Serialized feed, the write version it reflects and when it was rendered. */
+    public record Rendered(RenderedJson json, long version, long renderedAtNanos) {}
+
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    /* ======================================================
+       📄 Read
+    ====================================================== */
+    public Rendered get() {
+        Rendered r = current;
+        if (isFresh(r))
+            return r;
+
+        synchronized (renderLock) {
+            r = current;
+            if (isFresh(r))
+                return r; // someone else rendered while we waited
+
+            // read the version first: a write landing mid-render leaves this stale
+            long v = version.get();
+            r = render(v);
+            current = r;
+            return r;
+        }
+    }
+
+    private boolean isFresh(Rendered r) {
+        return r != null && r.version() == version.get()
+                && System.nanoTime() - r.renderedAtNanos() < maxAgeMs * 1_000_000L;
+    }
+
+    private Rendered render(long v) {
+        return new Rendered(RenderedJson.of(objectMapper, feedbackService.getRecentFeedback()), v, System.nanoTime());
+    }
+
+    /* ======================================================
+       ✏️ Invalidation
+    ====================================================== */
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Feedback)
+            invalidate();
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Feedback)
+            invalidate();
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Feedback)
+            invalidate();
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.getMappedClass() == Feedback.class;
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {}
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {}
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {}
+}
@@ -0,0 +1,34 @@
+package com.spotserve.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * A response body serialized once, with a strong ETag derived from its
+ * bytes (equal content always gets the same tag, across restarts too).
+ */
+public record RenderedJson(byte[] body, String etag) {
+
+    public static RenderedJson of(ObjectMapper objectMapper, Object value) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not render response body", e);
+        }
+        return new RenderedJson(body, etagOf(body));
+    }
+
+    private static String etagOf(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
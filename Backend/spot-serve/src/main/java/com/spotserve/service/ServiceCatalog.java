@@ -0,0 +1,91 @@
+package com.spotserve.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spotserve.model.ServiceEntity;
+import com.spotserve.repository.ServiceRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The service catalog as an immutable, versioned in-memory snapshot.
+ *
+ * Reads (the public list, job enrichment, receipts) never touch the
+ * database: the list is kept pre-rendered with its ETag and lookups by id
+ * are one map get. Admin writes call {@link #reload()}, which reads the
+ * table once and swaps in a new snapshot; a periodic reload picks up
+ * changes made through other instances.
+ */
+@Service
+public class ServiceCatalog {
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+
+    /** One catalog entry; serializes like {@link ServiceEntity}. */
+    public record Item(Long id, String name, Double basePrice) {
+
+        /** A detached copy for places that expect the entity (e.g. a job's {@code service}). */
+        public ServiceEntity toEntity() {
+            ServiceEntity entity = new ServiceEntity();
+            entity.setId(id);
+            entity.setName(name);
+            entity.setBasePrice(basePrice);
+            return entity;
+        }
+    }
+
+    public record Snapshot(long version, List<Item> items, Map<Long, Item> byId, RenderedJson json) {}
+
+    /* ======================================================
+       📖 Read
+    ====================================================== */
+    public Snapshot snapshot() {
+        Snapshot s = current.get();
+        return s != null ? s : reload();
+    }
+
+    /** The service with this id, or {@code null} if it is unknown (or id is null). */
+    public Item find(Long id) {
+        return id == null ? null : snapshot().byId().get(id);
+    }
+
+    /* ======================================================
+       🔄 Reload
+    ====================================================== */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.catalog.refresh-interval-ms:60000}",
+            initialDelayString = "${app.catalog.refresh-interval-ms:60000}")
+    public synchronized Snapshot reload() {
+        List<Item> items = new ArrayList<>();
+        for (ServiceEntity service : serviceRepository.findAll(Sort.by("id")))
+            items.add(new Item(service.getId(), service.getName(), service.getBasePrice()));
+
+        Snapshot previous = current.get();
+        if (previous != null && previous.items().equals(items))
+            return previous; // unchanged: keep the version and the rendered body
+
+        Map<Long, Item> byId = new HashMap<>(items.size() * 2);
+        for (Item item : items)
+            byId.put(item.id(), item);
+
+        Snapshot next = new Snapshot(previous == null ? 1 : previous.version() + 1,
+                List.copyOf(items), Map.copyOf(byId), RenderedJson.of(objectMapper, items));
+        current.set(next);
+        return next;
+    }
+}
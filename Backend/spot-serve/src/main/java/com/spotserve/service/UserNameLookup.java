@@ -0,0 +1,47 @@
+package com.spotserve.service;
+
+import com.spotserve.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves user display names for a whole list at once: the distinct ids
+ * go out as one IN query, instead of one findById per row and role.
+ */
+@Service
+public class UserNameLookup {
+
+    // Keeps each IN list well under database parameter limits
+    private static final int CHUNK_SIZE = 500;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    /** id → name for the given ids; ids without a user are simply absent. Nulls are ignored. */
+    public Map<Long, String> namesOf(Collection<Long> ids) {
+        Set<Long> distinct = new HashSet<>();
+        for (Long id : ids) {
+            if (id != null)
+                distinct.add(id);
+        }
+
+        Map<Long, String> names = new HashMap<>(distinct.size() * 2);
+        if (distinct.isEmpty())
+            return names;
+
+        Long[] all = distinct.toArray(new Long[0]);
+        for (int from = 0; from < all.length; from += CHUNK_SIZE) {
+            int to = Math.min(from + CHUNK_SIZE, all.length);
+            for (UserRepository.UserName row : userRepository.findNamesByIdIn(Arrays.asList(all).subList(from, to)))
+                names.put(row.getId(), row.getName());
+        }
+        return names;
+    }
+}
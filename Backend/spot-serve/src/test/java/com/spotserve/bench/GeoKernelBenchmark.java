@@ -0,0 +1,136 @@
+package com.spotserve.bench;
+
+import com.spotserve.model.Job;
+import com.spotserve.service.GeoKernel;
+import com.spotserve.service.PendingJobIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nearby pending jobs for one mechanic: the old per-entity scan (boxed
+ * coordinates, distance recomputed in the sort comparator) against the
+ * bulk kernel over primitive columns and the gridded PendingJobIndex.
+ *
+ * Jobs are spread over a 2° x 2° metro area; the query asks for the 20
+ * nearest within 10 km, or every job within 10 km.
+ *
+ *   mvn -Pbench test-compile exec:exec -Dbench=GeoKernelBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class GeoKernelBenchmark {
+
+    private static final double CENTER_LAT = 18.52;
+    private static final double CENTER_LNG = 73.85;
+    private static final double RADIUS_KM = 10.0;
+    private static final int K = 20;
+
+    @Param({"1000", "100000", "1000000"})
+    public int jobs;
+
+    private List<Job> entities;
+    private double[] lats;
+    private double[] lngs;
+    private int[] scratchIdx;
+    private double[] scratchDist;
+    private PendingJobIndex index;
+
+    @Setup(Level.Trial)
+    public void seed() {
+        SplittableRandom random = new SplittableRandom(42);
+        entities = new ArrayList<>(jobs);
+        lats = new double[jobs];
+        lngs = new double[jobs];
+        index = new PendingJobIndex();
+
+        for (int i = 0; i < jobs; i++) {
+            Job job = new Job();
+            job.setId((long) i + 1);
+            job.setPickupLat(CENTER_LAT - 1 + random.nextDouble() * 2);
+            job.setPickupLng(CENTER_LNG - 1 + random.nextDouble() * 2);
+            entities.add(job);
+            lats[i] = job.getPickupLat();
+            lngs[i] = job.getPickupLng();
+            index.add(job);
+        }
+
+        scratchIdx = new int[jobs];
+        scratchDist = new double[jobs];
+        // build the snapshot outside the measurement
+        index.nearest(CENTER_LAT, CENTER_LNG, RADIUS_KM, K);
+    }
+
+    /* ======================================================
+       Before: filter + sort on entities, distance recomputed per comparison
+    ====================================================== */
+    @Benchmark
+    public List<Job> legacyEntityScanTopK() {
+        List<Job> nearby = new ArrayList<>();
+        for (Job job : entities) {
+            if (legacyDistance(CENTER_LAT, CENTER_LNG, job.getPickupLat(), job.getPickupLng()) <= RADIUS_KM)
+                nearby.add(job);
+        }
+        nearby.sort(Comparator.comparingDouble(job ->
+                legacyDistance(CENTER_LAT, CENTER_LNG, job.getPickupLat(), job.getPickupLng())));
+        return nearby.subList(0, Math.min(K, nearby.size()));
+    }
+
+    /* ======================================================
+       After
+    ====================================================== */
+
+    // every job, one bulk pass over the columns, bounded heap for the top k
+    @Benchmark
+    public int kernelColumnScanTopK() {
+        GeoKernel.distancesKm(CENTER_LAT, CENTER_LNG, lats, lngs, 0, jobs, scratchDist, 0);
+        int n = 0;
+        for (int i = 0; i < jobs; i++) {
+            if (scratchDist[i] <= RADIUS_KM)
+                scratchIdx[n++] = i;
+        }
+        return GeoKernel.topK(scratchIdx, n, scratchDist, K);
+    }
+
+    // only the grid cells under the radius are scanned
+    @Benchmark
+    public List<PendingJobIndex.Hit> indexNearestTopK() {
+        return index.nearest(CENTER_LAT, CENTER_LNG, RADIUS_KM, K);
+    }
+
+    @Benchmark
+    public List<PendingJobIndex.Hit> indexFindWithin() {
+        return index.findWithin(CENTER_LAT, CENTER_LNG, RADIUS_KM);
+    }
+
+    // The scalar copy JobController / MechanicController each had: boxed in, recomputed trig
+    private static double legacyDistance(Double lat1, Double lon1, Double lat2, Double lon2) {
+        final int R = 6371;
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        return R * c;
+    }
+}
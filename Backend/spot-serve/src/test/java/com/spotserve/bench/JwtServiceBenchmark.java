@@ -0,0 +1,99 @@
+package com.spotserve.bench;
+
+import com.spotserve.config.JwtService;
+import com.spotserve.config.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What the JWT filter pays per request to authenticate a bearer token.
+ *
+ * legacy: the old filter path — extractUsername, validateToken (subject +
+ * expiry) and extractRole, four full parses, each building a fresh key and
+ * parser. verifyMiss: JwtService.verify when the digest cache misses (one
+ * parse on the shared parser, plus the SHA-256 digest and the cache put).
+ * verifyHit: the same token again, answered from the digest cache.
+ *
+ *   mvn -Pbench test-compile exec:exec -Dbench=JwtServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    // matches JwtService's key; the legacy path rebuilt it from this string on every parse
+    private static final String SECRET_KEY = "supersecretkeyforspotserveproject123456789";
+
+    // more distinct tokens than the miss-path cache can hold, so every verify parses
+    private static final int TOKENS = 1024;
+
+    private JwtService cached;
+    private JwtService uncached;
+    private String[] tokens;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cached = jwtService(10_000);
+        uncached = jwtService(1);
+
+        tokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++)
+            tokens[i] = cached.generateToken("user" + i + "@spotserve.test", "CUSTOMER");
+
+        cached.verify(tokens[0]);
+    }
+
+    @Benchmark
+    public String legacyFourParses() {
+        String token = tokens[0];
+        String email = legacyClaims(token).getSubject();
+        boolean valid = email.equals(legacyClaims(token).getSubject())
+                && !legacyClaims(token).getExpiration().before(new Date());
+        return valid ? legacyClaims(token).get("role", String.class) : null;
+    }
+
+    @Benchmark
+    public VerifiedToken verifyMiss() {
+        next = (next + 1) & (TOKENS - 1);
+        return uncached.verify(tokens[next]);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyHit() {
+        return cached.verify(tokens[0]);
+    }
+
+    private static Claims legacyClaims(String token) {
+        Key key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+    }
+
+    private static JwtService jwtService(int cacheSize) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "verifiedCacheSize", cacheSize);
+        ReflectionTestUtils.setField(service, "verifiedCacheTtlSeconds", 300L);
+        ReflectionTestUtils.invokeMethod(service, "init");
+        return service;
+    }
+}
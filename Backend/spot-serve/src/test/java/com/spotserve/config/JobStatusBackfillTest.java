@@ -0,0 +1,79 @@
+package com.spotserve.config;
+
+import com.spotserve.model.JobStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Re-creates the legacy {@code jobs.status} text column for the duration of
+ * each test and runs the backfill against a few hand-written rows.
+ */
+@SpringBootTest
+class JobStatusBackfillTest {
+
+    // ids no other test creates
+    private static final long FIRST_ID = 990001L;
+
+    @Autowired
+    private JobStatusBackfill jobStatusBackfill;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void addLegacyColumn() {
+        jdbcTemplate.execute("ALTER TABLE jobs ADD COLUMN status VARCHAR(32)");
+    }
+
+    @AfterEach
+    void dropLegacyColumn() {
+        jdbcTemplate.update("DELETE FROM jobs WHERE id >= ?", FIRST_ID);
+        jdbcTemplate.execute("ALTER TABLE jobs DROP COLUMN status");
+    }
+
+    @Test
+    void mapsLegacyLabelsInAnyCasing() {
+        legacy(FIRST_ID, "pending");
+        legacy(FIRST_ID + 1, " Completed ");
+        legacy(FIRST_ID + 2, "payment_pending");
+
+        assertDoesNotThrow(jobStatusBackfill::backfill);
+
+        assertEquals(JobStatus.PENDING.getCode(), codeOf(FIRST_ID));
+        assertEquals(JobStatus.COMPLETED.getCode(), codeOf(FIRST_ID + 1));
+        assertEquals(JobStatus.PAYMENT_PENDING.getCode(), codeOf(FIRST_ID + 2));
+    }
+
+    @Test
+    void unmappedLabelsFailWithTheirCounts() {
+        legacy(FIRST_ID, "Ongoing");
+        legacy(FIRST_ID + 1, "Archived");
+        legacy(FIRST_ID + 2, "Archived");
+        legacy(FIRST_ID + 3, "Disputed");
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, jobStatusBackfill::backfill);
+
+        assertTrue(e.getMessage().startsWith("3 jobs"), e.getMessage());
+        assertTrue(e.getMessage().contains("'Archived' (2)"), e.getMessage());
+        assertTrue(e.getMessage().contains("'Disputed' (1)"), e.getMessage());
+        // the rows that do map are still migrated
+        assertEquals(JobStatus.ONGOING.getCode(), codeOf(FIRST_ID));
+    }
+
+    private void legacy(long id, String status) {
+        jdbcTemplate.update("INSERT INTO jobs (id, status, status_code) VALUES (?, ?, NULL)", id, status);
+    }
+
+    private int codeOf(long id) {
+        return jdbcTemplate.queryForObject("SELECT status_code FROM jobs WHERE id = ?", Integer.class, id);
+    }
+}
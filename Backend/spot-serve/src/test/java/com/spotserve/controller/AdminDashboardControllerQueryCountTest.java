@@ -0,0 +1,127 @@
+package com.spotserve.controller;
+
+import com.spotserve.config.JwtService;
+import com.spotserve.model.Job;
+import com.spotserve.model.JobStatus;
+import com.spotserve.model.User;
+import com.spotserve.repository.JobRepository;
+import com.spotserve.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The admin job list must cost the same number of statements for one row
+ * as for a full page: the page query plus one batched name lookup, never
+ * one lookup per row.
+ */
+@SpringBootTest
+class AdminDashboardControllerQueryCountTest {
+
+    // statuses no other test writes, so the seeded counts are exact
+    private static final JobStatus ONE_ROW = JobStatus.ONGOING;
+    private static final JobStatus FULL_PAGE = JobStatus.PAYMENT_PENDING;
+    private static final int PAGE = 50;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private FilterChainProxy springSecurityFilterChain;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private MockMvc mvc;
+    private String adminToken;
+
+    @BeforeEach
+    void seed() {
+        mvc = MockMvcBuilders.webAppContextSetup(context).addFilters(springSecurityFilterChain).build();
+
+        User admin = user("dashboard-admin@test.io", "ADMIN");
+        adminToken = jwtService.generateToken(admin.getEmail(), admin.getRole());
+
+        if (jobRepository.countByStatus(FULL_PAGE) > 0)
+            return;
+
+        for (int i = 0; i < PAGE; i++) {
+            User customer = user("dash-customer-" + i + "@test.io", "CUSTOMER");
+            User mechanic = user("dash-mechanic-" + i + "@test.io", "MECHANIC");
+            job(customer, mechanic, FULL_PAGE);
+            if (i == 0)
+                job(customer, mechanic, ONE_ROW);
+        }
+    }
+
+    @Test
+    void statementCountDoesNotGrowWithThePage() throws Exception {
+        long one = statementsFor(ONE_ROW, 1);
+        long fifty = statementsFor(FULL_PAGE, PAGE);
+
+        assertEquals(one, fifty, "1 row and " + PAGE + " rows must cost the same statements");
+        assertEquals(2, fifty, "page query + one name lookup");
+    }
+
+    private long statementsFor(JobStatus status, int expectedRows) throws Exception {
+        // warm the principal cache so only the list itself is counted
+        mvc.perform(get("/api/admin/dashboard/jobs").param("status", status.name())
+                .header("Authorization", "Bearer " + adminToken)).andExpect(status().isOk());
+
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        mvc.perform(get("/api/admin/dashboard/jobs").param("status", status.name())
+                        .param("limit", String.valueOf(PAGE))
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(expectedRows))
+                .andExpect(jsonPath("$[0].customerName").isNotEmpty())
+                .andExpect(jsonPath("$[0].mechanicName").isNotEmpty());
+
+        return stats.getPrepareStatementCount();
+    }
+
+    private User user(String email, String role) {
+        return userRepository.findByEmail(email).orElseGet(() -> {
+            User user = new User();
+            user.setName(email.substring(0, email.indexOf('@')));
+            user.setEmail(email);
+            user.setPassword("x");
+            user.setRole(role);
+            user.setLatitude(18.5);
+            user.setLongitude(73.8);
+            return userRepository.save(user);
+        });
+    }
+
+    private void job(User customer, User mechanic, JobStatus status) {
+        Job job = new Job();
+        job.setCustomerId(customer.getId());
+        job.setMechanicId(mechanic.getId());
+        job.setStatus(status);
+        jobRepository.save(job);
+    }
+}
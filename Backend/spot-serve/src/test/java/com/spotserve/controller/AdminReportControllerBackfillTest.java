@@ -0,0 +1,129 @@
+package com.spotserve.controller;
+
+import com.spotserve.config.JwtService;
+import com.spotserve.model.Job;
+import com.spotserve.model.JobRollup;
+import com.spotserve.model.JobStatus;
+import com.spotserve.model.User;
+import com.spotserve.repository.JobRepository;
+import com.spotserve.repository.UserRepository;
+import com.spotserve.service.JobRollupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Backfill only rebuilds history from before the configured rollup cutover
+ * (2020-06-01T10:30Z in the test properties, so 10:00 is the first live
+ * hour); the live row seeded in that hour must survive every request.
+ */
+@SpringBootTest
+class AdminReportControllerBackfillTest {
+
+    private static final long LIVE_HOUR = Instant.parse("2020-06-01T10:00:00Z").getEpochSecond() / 3600;
+    private static final long MECHANIC_ID = 880001L;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private FilterChainProxy springSecurityFilterChain;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JobRollupService jobRollupService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private MockMvc mvc;
+    private String adminToken;
+
+    @BeforeEach
+    void seed() {
+        mvc = MockMvcBuilders.webAppContextSetup(context).addFilters(springSecurityFilterChain).build();
+
+        User admin = userRepository.findByEmail("reports-admin@test.io").orElseGet(() -> {
+            User user = new User();
+            user.setName("reports-admin");
+            user.setEmail("reports-admin@test.io");
+            user.setPassword("x");
+            user.setRole("ADMIN");
+            return userRepository.save(user);
+        });
+        adminToken = jwtService.generateToken(admin.getEmail(), admin.getRole());
+
+        jdbcTemplate.update("DELETE FROM job_rollups WHERE mechanic_id = ?", MECHANIC_ID);
+        jdbcTemplate.update("INSERT INTO job_rollups (bucket_hour, event, service_id, mechanic_id, job_count, revenue) " +
+                "VALUES (?, ?, 0, ?, 7, 700.0)", LIVE_HOUR, JobRollup.COMPLETED, MECHANIC_ID);
+
+        if (jobRepository.findByMechanicId(MECHANIC_ID).isEmpty()) {
+            Job job = new Job();
+            job.setMechanicId(MECHANIC_ID);
+            job.setStatus(JobStatus.COMPLETED);
+            job.setTotalAmount(100.0);
+            job.setCreatedAt(Instant.parse("2020-06-01T08:15:00Z"));
+            jobRepository.save(job);
+        }
+    }
+
+    @Test
+    void rangePastTheCutoverIsRejected() throws Exception {
+        mvc.perform(post("/api/admin/reports/backfill")
+                        .param("from", "2020-06-01T00:00:00Z")
+                        .param("to", "2020-06-01T12:00:00Z")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(7L, liveCount());
+    }
+
+    @Test
+    void rangeUpToTheCutoverRebuildsHistoryOnly() throws Exception {
+        mvc.perform(post("/api/admin/reports/backfill")
+                        .param("from", "2020-06-01T00:00:00Z")
+                        .param("to", "2020-06-01T10:00:00Z")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.jobsScanned").value(1));
+
+        assertEquals(7L, liveCount());
+        assertEquals(1L, jdbcTemplate.queryForObject(
+                "SELECT job_count FROM job_rollups WHERE bucket_hour = ? AND event = ? AND mechanic_id = ?",
+                Long.class, LIVE_HOUR - 2, JobRollup.COMPLETED, MECHANIC_ID));
+    }
+
+    @Test
+    void serviceClampsToTheCutoverWhenCalledDirectly() {
+        jobRollupService.backfill(Instant.parse("2020-06-01T00:00:00Z"), Instant.parse("2020-06-02T00:00:00Z"));
+
+        assertEquals(7L, liveCount());
+    }
+
+    private long liveCount() {
+        return jdbcTemplate.queryForObject(
+                "SELECT job_count FROM job_rollups WHERE bucket_hour = ? AND event = ? AND mechanic_id = ?",
+                Long.class, LIVE_HOUR, JobRollup.COMPLETED, MECHANIC_ID);
+    }
+}
@@ -0,0 +1,115 @@
+package com.spotserve.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Password guessing against one account from many addresses: every
+ * address stays under its own limit, the account's limit still trips.
+ */
+@SpringBootTest
+class AuthControllerRateLimitTest {
+
+    // app.rate-limit.auth.email-burst default
+    private static final int EMAIL_BURST = 5;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private FilterChainProxy springSecurityFilterChain;
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.webAppContextSetup(context).addFilters(springSecurityFilterChain).build();
+    }
+
+    @Test
+    void loginIsLimitedPerEmailAcrossAddresses() throws Exception {
+        // case and whitespace variants count against the same account
+        String[] spellings = {"victim@test.io", "Victim@Test.io", " victim@test.io "};
+
+        for (int i = 0; i < EMAIL_BURST; i++) {
+            MockHttpServletResponse response = login(spellings[i % spellings.length], "10.1.0." + i);
+            assertEquals(401, response.getStatus(), "attempt " + (i + 1) + " reaches the password check");
+        }
+
+        MockHttpServletResponse limited = login("VICTIM@test.io", "10.1.0.99");
+        assertEquals(429, limited.getStatus());
+        assertNotNull(limited.getHeader("Retry-After"));
+
+        // another account from the same addresses is unaffected
+        assertEquals(401, login("bystander@test.io", "10.1.0.0").getStatus());
+    }
+
+    @Test
+    void registerIsLimitedPerEmailAcrossAddresses() throws Exception {
+        String body = "{\"name\":\"x\",\"email\":\"taken@test.io\",\"password\":\"secret1\"}";
+
+        assertEquals(200, send("/api/auth/register", body, "10.2.0.0").getStatus());
+        for (int i = 1; i < EMAIL_BURST; i++)
+            assertEquals(400, send("/api/auth/register", body, "10.2.0." + i).getStatus(), "already registered");
+
+        MockHttpServletResponse limited = send("/api/auth/register", body, "10.2.0.99");
+        assertEquals(429, limited.getStatus());
+        assertNotNull(limited.getHeader("Retry-After"));
+    }
+
+    @Test
+    void successfulLoginsDoNotCountAgainstTheAccount() throws Exception {
+        String email = "owner@test.io";
+        String body = "{\"name\":\"x\",\"email\":\"" + email + "\",\"password\":\"secret1\"}";
+        assertEquals(200, send("/api/auth/register", body, "10.3.0.0").getStatus());
+
+        // well past the burst, all with the right password
+        for (int i = 0; i < EMAIL_BURST * 3; i++)
+            assertEquals(200, login(email, "secret1", "10.3.0." + i).getStatus(), "login " + (i + 1));
+
+        // the registration took one token, the failed guesses use up the rest
+        // (a token may refill meanwhile: each guess is a real BCrypt check)
+        int guesses = 0;
+        while (login(email, "10.3.1." + guesses).getStatus() == 401)
+            assertTrue(++guesses <= EMAIL_BURST + 2, "guesses never tripped the limit");
+        assertTrue(guesses >= EMAIL_BURST - 1, "only " + guesses + " guesses before the limit");
+
+        assertEquals(429, login(email, "secret1", "10.3.1.99").getStatus());
+    }
+
+    private MockHttpServletResponse login(String email, String ip) throws Exception {
+        return login(email, "guess", ip);
+    }
+
+    private MockHttpServletResponse login(String email, String password, String ip) throws Exception {
+        return send("/api/auth/login", "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}", ip);
+    }
+
+    // The auth endpoints answer with a CompletableFuture; finish the async dispatch like the container would
+    private MockHttpServletResponse send(String path, String body, String ip) throws Exception {
+        MvcResult result = mvc.perform(post(path).contentType(MediaType.APPLICATION_JSON).content(body)
+                        .with(request -> { request.setRemoteAddr(ip); return request; }))
+                .andReturn();
+
+        if (!result.getRequest().isAsyncStarted())
+            return result.getResponse();
+
+        result.getAsyncResult(10_000);
+        return mvc.perform(asyncDispatch(result)).andReturn().getResponse();
+    }
+}
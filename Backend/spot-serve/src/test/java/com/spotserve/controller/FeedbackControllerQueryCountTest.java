@@ -0,0 +1,141 @@
+package com.spotserve.controller;
+
+import com.spotserve.config.JwtService;
+import com.spotserve.model.Feedback;
+import com.spotserve.model.User;
+import com.spotserve.repository.FeedbackRepository;
+import com.spotserve.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The admin feedback feeds resolve customer and mechanic names per page:
+ * one row and fifty rows must both cost the page query plus one batched
+ * name lookup.
+ */
+@SpringBootTest
+class FeedbackControllerQueryCountTest {
+
+    private static final int PAGE = 50;
+    private static final long JOB_ID_BASE = 700_000L;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private FilterChainProxy springSecurityFilterChain;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private MockMvc mvc;
+    private String adminToken;
+    private Long busyMechanicId;
+    private Long quietMechanicId;
+
+    @BeforeEach
+    void seed() {
+        mvc = MockMvcBuilders.webAppContextSetup(context).addFilters(springSecurityFilterChain).build();
+
+        User admin = user("feedback-admin@test.io", "ADMIN");
+        adminToken = jwtService.generateToken(admin.getEmail(), admin.getRole());
+
+        // one mechanic with a full page of reviews from 50 customers, one with a single review
+        User busy = user("fb-busy-mechanic@test.io", "MECHANIC");
+        User quiet = user("fb-quiet-mechanic@test.io", "MECHANIC");
+        busyMechanicId = busy.getId();
+        quietMechanicId = quiet.getId();
+
+        if (feedbackRepository.findByJobId(JOB_ID_BASE).isPresent())
+            return;
+
+        for (int i = 0; i < PAGE; i++) {
+            User customer = user("fb-customer-" + i + "@test.io", "CUSTOMER");
+            feedback(JOB_ID_BASE + i, customer, busy);
+            if (i == 0)
+                feedback(JOB_ID_BASE + PAGE, customer, quiet);
+        }
+    }
+
+    @Test
+    void adminAllCostsTheSameForOneAndFiftyRows() throws Exception {
+        long one = statementsFor("/api/feedback/admin/all", 1);
+        long fifty = statementsFor("/api/feedback/admin/all", PAGE);
+
+        assertEquals(one, fifty, "1 row and " + PAGE + " rows must cost the same statements");
+        assertEquals(2, fifty, "page query + one name lookup");
+    }
+
+    @Test
+    void adminMechanicCostsTheSameForOneAndFiftyRows() throws Exception {
+        long one = statementsFor("/api/feedback/admin/mechanic/" + quietMechanicId, 1);
+        long fifty = statementsFor("/api/feedback/admin/mechanic/" + busyMechanicId, PAGE);
+
+        assertEquals(one, fifty, "1 row and " + PAGE + " rows must cost the same statements");
+        assertEquals(2, fifty, "page query + one name lookup");
+    }
+
+    private long statementsFor(String path, int rows) throws Exception {
+        // warm the principal cache so only the feed itself is counted
+        mvc.perform(get(path).param("limit", "1")
+                .header("Authorization", "Bearer " + adminToken)).andExpect(status().isOk());
+
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        mvc.perform(get(path).param("limit", String.valueOf(rows))
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(rows))
+                .andExpect(jsonPath("$[0].customerName").isNotEmpty())
+                .andExpect(jsonPath("$[0].mechanicName").isNotEmpty());
+
+        return stats.getPrepareStatementCount();
+    }
+
+    private User user(String email, String role) {
+        return userRepository.findByEmail(email).orElseGet(() -> {
+            User user = new User();
+            user.setName(email.substring(0, email.indexOf('@')));
+            user.setEmail(email);
+            user.setPassword("x");
+            user.setRole(role);
+            user.setLatitude(18.5);
+            user.setLongitude(73.8);
+            return userRepository.save(user);
+        });
+    }
+
+    private void feedback(long jobId, User customer, User mechanic) {
+        Feedback feedback = new Feedback();
+        feedback.setJobId(jobId);
+        feedback.setCustomerId(customer.getId());
+        feedback.setMechanicId(mechanic.getId());
+        feedback.setRating(4);
+        feedback.setComment("fine");
+        feedbackRepository.save(feedback);
+    }
+}
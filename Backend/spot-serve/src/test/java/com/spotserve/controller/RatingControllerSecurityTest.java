@@ -0,0 +1,78 @@
+package com.spotserve.controller;
+
+import com.spotserve.config.JwtService;
+import com.spotserve.model.User;
+import com.spotserve.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The rating endpoints, in particular the full rebuild, are admin-only at
+ * the filter chain; a signed-in customer or mechanic is turned away.
+ */
+@SpringBootTest
+class RatingControllerSecurityTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private FilterChainProxy springSecurityFilterChain;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.webAppContextSetup(context).addFilters(springSecurityFilterChain).build();
+    }
+
+    @Test
+    void nonAdminsCannotRebuildOrReadRatings() throws Exception {
+        for (String role : new String[] { "CUSTOMER", "MECHANIC" }) {
+            String token = tokenFor("ratings-" + role.toLowerCase() + "@test.io", role);
+
+            mvc.perform(post("/api/admin/mechanics/ratings/rebuild").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isForbidden());
+            mvc.perform(get("/api/admin/mechanics/ratings/1").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isForbidden());
+        }
+    }
+
+    @Test
+    void adminCanRebuild() throws Exception {
+        String token = tokenFor("ratings-admin@test.io", "ADMIN");
+
+        mvc.perform(post("/api/admin/mechanics/ratings/rebuild").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.mechanicsFixed").isNumber());
+    }
+
+    private String tokenFor(String email, String role) {
+        User user = userRepository.findByEmail(email).orElseGet(() -> {
+            User u = new User();
+            u.setName(email.substring(0, email.indexOf('@')));
+            u.setEmail(email);
+            u.setPassword("x");
+            u.setRole(role);
+            return userRepository.save(u);
+        });
+        return jwtService.generateToken(user.getEmail(), user.getRole());
+    }
+}
@@ -0,0 +1,104 @@
+package com.spotserve.repository;
+
+import com.spotserve.model.Job;
+import com.spotserve.model.JobStatus;
+import com.spotserve.service.GeoKernel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * findPendingNearby on H2: the bounding box must never cut off a job the
+ * haversine refine would keep — at the exact radius, across the
+ * antimeridian, and around a pole.
+ */
+@SpringBootTest
+class JobRepositoryNearbyTest {
+
+    private static final double RADIUS_KM = 20.0;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    private final List<Long> created = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        jobRepository.deleteAllById(created);
+    }
+
+    @Test
+    void keepsJobsJustInsideTheRadiusAndDropsThoseJustOutside() {
+        double lat = 18.52;
+        double lng = 73.85;
+        double degreesPerKm = 1 / (GeoKernel.EARTH_RADIUS_KM * Math.PI / 180);
+
+        // due north / south the box edge is the radius itself
+        Long north = pending(lat + (RADIUS_KM - 0.01) * degreesPerKm, lng);
+        Long south = pending(lat - (RADIUS_KM - 0.01) * degreesPerKm, lng);
+        Long outside = pending(lat + (RADIUS_KM + 0.01) * degreesPerKm, lng);
+
+        // due east, measured with the same sphere the query uses
+        double eastLng = lng + (RADIUS_KM - 0.01) * degreesPerKm / Math.cos(Math.toRadians(lat));
+        Long east = pending(lat, eastLng);
+
+        List<Long> ids = nearbyIds(lat, lng);
+
+        assertTrue(ids.contains(north), "north edge");
+        assertTrue(ids.contains(south), "south edge");
+        assertTrue(ids.contains(east), "east edge");
+        assertFalse(ids.contains(outside), "just past the radius");
+    }
+
+    @Test
+    void findsJobsAcrossTheAntimeridian() {
+        Long west = pending(-16.5, -179.95);
+        Long east = pending(-16.5, 179.95);
+        Long farAway = pending(-16.5, 178.0);
+
+        // ~10.7 km apart over ±180°, ~10.7 km from each centre on its own side
+        List<Long> fromEast = nearbyIds(-16.5, 179.9);
+        assertTrue(fromEast.contains(west), "west of the line, seen from the east");
+        assertTrue(fromEast.contains(east));
+        assertFalse(fromEast.contains(farAway));
+
+        List<Long> fromWest = nearbyIds(-16.5, -179.9);
+        assertTrue(fromWest.contains(east), "east of the line, seen from the west");
+        assertTrue(fromWest.contains(west));
+
+        // nearest first, distances measured the short way round
+        assertEquals(west, fromWest.get(0));
+    }
+
+    @Test
+    void spansAllLongitudesAroundAPole() {
+        Long acrossThePole = pending(89.95, 100.0);
+
+        assertTrue(nearbyIds(89.95, -80.0).contains(acrossThePole), "11 km over the pole");
+    }
+
+    private List<Long> nearbyIds(double lat, double lng) {
+        return jobRepository.findPendingNearby(lat, lng, RADIUS_KM, 50, 0).stream()
+                .map(JobRepository.NearbyJob::getId)
+                .toList();
+    }
+
+    private Long pending(double lat, double lng) {
+        Job job = new Job();
+        job.setCustomerId(1L);
+        job.setStatus(JobStatus.PENDING);
+        job.setPickupLat(lat);
+        job.setPickupLng(lng);
+        Long id = jobRepository.save(job).getId();
+        created.add(id);
+        return id;
+    }
+}
@@ -0,0 +1,123 @@
+package com.spotserve.service;
+
+import com.spotserve.repository.JobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The dispatch matcher against hand-placed mechanics: the grid must never
+ * hide a mechanic inside the radius, wherever the job is on the globe.
+ */
+class DispatchServiceTest {
+
+    private static final double RADIUS_KM = 15.0;
+
+    private DispatchService dispatch;
+
+    private record OpenJob(Long id, Double lat, Double lng) implements JobRepository.OpenJobLocation {
+        public Long getId() { return id; }
+        public Double getPickupLat() { return lat; }
+        public Double getPickupLng() { return lng; }
+    }
+
+    @BeforeEach
+    void setUp() {
+        dispatch = new DispatchService();
+        ReflectionTestUtils.setField(dispatch, "maxRadiusKm", RADIUS_KM);
+        ReflectionTestUtils.setField(dispatch, "maxActiveJobs", 3);
+        ReflectionTestUtils.setField(dispatch, "loadPenaltyKm", 2.0);
+    }
+
+    @Test
+    void mechanicJustInsideTheRadiusIsMatchedAcrossCellEdges() {
+        double angular = 14.99 / GeoKernel.EARTH_RADIUS_KM;
+
+        // sweep the job over many cell boundaries; due north / due east at exactly 14.99 km
+        for (int i = 0; i <= 2000; i++) {
+            double lat = -60.0 + i * 0.06;
+            double north = lat + Math.toDegrees(angular);
+            double east = Math.toDegrees(2 * Math.asin(Math.sin(angular / 2) / Math.cos(Math.toRadians(lat))));
+
+            assertEquals(1, matched(lat, 10.0, List.of(mechanic(1, north, 10.0))), "north of " + lat);
+            assertEquals(1, matched(lat, 10.0, List.of(mechanic(1, lat, 10.0 + east))), "east of " + lat);
+        }
+
+        // fine steps across two whole cells, so a job just below any row boundary is tried
+        for (double lat = 18.0; lat < 18.3; lat += 0.00005) {
+            double north = lat + Math.toDegrees(angular);
+            assertEquals(1, matched(lat, 73.85, List.of(mechanic(1, north, 73.85))), "north of " + lat);
+        }
+    }
+
+    @Test
+    void mechanicJustOutsideTheRadiusIsNotMatched() {
+        double lat = 18.52;
+        double north = lat + Math.toDegrees(15.01 / GeoKernel.EARTH_RADIUS_KM);
+
+        assertEquals(0, matched(lat, 73.85, List.of(mechanic(1, north, 73.85))));
+    }
+
+    @Test
+    void matchesAcrossTheAntimeridian() {
+        // ~4.4 km apart, on opposite sides of ±180°
+        assertEquals(1, matched(10.0, 179.98, List.of(mechanic(1, 10.0, -179.98))));
+        assertEquals(1, matched(10.0, -179.98, List.of(mechanic(1, 10.0, 179.98))));
+    }
+
+    @Test
+    void matchesNearThePoleWithoutScanningEveryColumn() {
+        // ~0.2 km apart across the pole; the box spans every longitude
+        assertEquals(1, matched(89.999, 0.0, List.of(mechanic(1, 89.999, 180.0))));
+        assertEquals(1, matched(-89.9999, 45.0, List.of(mechanic(1, -89.9999, -135.0))));
+
+        // 1 / cos(lat) is in the millions here; the scan must stay bounded by the grid
+        assertTimeoutPreemptively(Duration.ofMillis(500),
+                () -> assertEquals(1, matched(89.9999999, 0.0, List.of(mechanic(1, 89.9999999, 90.0)))));
+    }
+
+    @Test
+    void matchesThousandsOfJobsWellUnderASecond() {
+        Random random = new Random(42);
+        List<OpenJob> jobs = new ArrayList<>();
+        List<DispatchService.MechanicPosition> mechanics = new ArrayList<>();
+
+        // one metro area, ~50 km across
+        for (int i = 0; i < 5_000; i++)
+            jobs.add(new OpenJob((long) i, 18.3 + random.nextDouble() * 0.45, 73.6 + random.nextDouble() * 0.45));
+        for (int i = 0; i < 2_000; i++)
+            mechanics.add(mechanic(i, 18.3 + random.nextDouble() * 0.45, 73.6 + random.nextDouble() * 0.45));
+
+        List<JobRepository.OpenJobLocation> open = new ArrayList<>(jobs);
+
+        // warm-up, then time one full match
+        dispatch.match(open, new DispatchService.MechanicGrid(mechanics, RADIUS_KM), new int[mechanics.size()]);
+
+        long start = System.nanoTime();
+        DispatchService.MechanicGrid grid = new DispatchService.MechanicGrid(mechanics, RADIUS_KM);
+        List<DispatchService.Assignment> assignments = dispatch.match(open, grid, new int[mechanics.size()]);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        // 2,000 mechanics x 3 slots covers all 5,000 jobs
+        assertEquals(jobs.size(), assignments.size());
+        assertTrue(millis < 1_000, "5,000 jobs x 2,000 mechanics took " + millis + " ms");
+    }
+
+    private int matched(double jobLat, double jobLng, List<DispatchService.MechanicPosition> mechanics) {
+        DispatchService.MechanicGrid grid = new DispatchService.MechanicGrid(mechanics, RADIUS_KM);
+        return dispatch.match(List.of(new OpenJob(1L, jobLat, jobLng)), grid, new int[grid.size()]).size();
+    }
+
+    private static DispatchService.MechanicPosition mechanic(long id, double lat, double lng) {
+        return new DispatchService.MechanicPosition(id, lat, lng);
+    }
+}
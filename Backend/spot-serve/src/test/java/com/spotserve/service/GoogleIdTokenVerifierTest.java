@@ -0,0 +1,215 @@
+package com.spotserve.service;
+
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies id_tokens signed by locally generated RSA keys, with the JWKS
+ * served by a JDK HttpServer standing in for Google's certs endpoint.
+ */
+class GoogleIdTokenVerifierTest {
+
+    private static final String CLIENT_ID = "spotserve-test.apps.googleusercontent.com";
+    private static final String ISSUER = "https://accounts.google.com";
+    private static final long PAST_THROTTLE_NANOS = 31_000_000_000L;
+
+    private static KeyPair current;
+    private static KeyPair rotated;
+
+    private HttpServer server;
+    private final AtomicInteger fetches = new AtomicInteger();
+    private volatile String jwks;
+
+    private GoogleIdTokenVerifier verifier;
+
+    @BeforeEach
+    void start() throws Exception {
+        if (current == null) {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            current = generator.generateKeyPair();
+            rotated = generator.generateKeyPair();
+        }
+        jwks = jwks(jwk("k1", current));
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/certs", exchange -> {
+            fetches.incrementAndGet();
+            byte[] body = jwks.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("Cache-Control", "public, max-age=3600");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.start();
+
+        verifier = new GoogleIdTokenVerifier();
+        ReflectionTestUtils.setField(verifier, "clientId", CLIENT_ID);
+        ReflectionTestUtils.setField(verifier, "jwksUri",
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/certs");
+        ReflectionTestUtils.setField(verifier, "restTemplate", new RestTemplate());
+        verifier.init();
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+    }
+
+    @Test
+    void acceptsAValidToken() throws Exception {
+        String token = token("k1", current, ISSUER, CLIENT_ID, Instant.now().plusSeconds(600));
+
+        assertEquals("user@gmail.com", verifier.verify(token).get("email"));
+        assertEquals("user@gmail.com", verifier.verify(token).get("email"));
+        assertEquals(1, fetches.get(), "keys are fetched once and kept");
+    }
+
+    @Test
+    void rejectsWrongAudience() {
+        String token = token("k1", current, ISSUER, "someone-else", Instant.now().plusSeconds(600));
+
+        Exception e = assertThrows(Exception.class, () -> verifier.verify(token));
+        assertTrue(e.getMessage().contains("audience"), e.getMessage());
+    }
+
+    @Test
+    void rejectsWrongIssuer() {
+        String token = token("k1", current, "https://evil.example.com", CLIENT_ID, Instant.now().plusSeconds(600));
+
+        Exception e = assertThrows(Exception.class, () -> verifier.verify(token));
+        assertTrue(e.getMessage().contains("issuer"), e.getMessage());
+    }
+
+    @Test
+    void rejectsAnExpiredToken() {
+        // past the 60 s clock skew
+        String token = token("k1", current, ISSUER, CLIENT_ID, Instant.now().minusSeconds(120));
+
+        assertThrows(Exception.class, () -> verifier.verify(token));
+    }
+
+    @Test
+    void rejectsATokenSignedByAnotherKeyUnderAKnownKid() {
+        String token = token("k1", rotated, ISSUER, CLIENT_ID, Instant.now().plusSeconds(600));
+
+        assertThrows(Exception.class, () -> verifier.verify(token));
+    }
+
+    @Test
+    void unknownKidRefreshesOnceAcrossConcurrentLogins() throws Exception {
+        verifier.verify(token("k1", current, ISSUER, CLIENT_ID, Instant.now().plusSeconds(600)));
+        assertEquals(1, fetches.get());
+
+        // Google rotates: the new key appears in the JWKS
+        jwks = jwks(jwk("k1", current), jwk("k2", rotated));
+        ReflectionTestUtils.setField(verifier, "lastFetchNanos", System.nanoTime() - PAST_THROTTLE_NANOS);
+
+        String rotatedToken = token("k2", rotated, ISSUER, CLIENT_ID, Instant.now().plusSeconds(600));
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Object>> logins = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                logins.add(pool.submit(() -> {
+                    start.await();
+                    return verifier.verify(rotatedToken).get("email");
+                }));
+            }
+            start.countDown();
+            for (Future<Object> login : logins)
+                assertEquals("user@gmail.com", login.get(10, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(2, fetches.get(), "one refresh for the new kid, however many logins carried it");
+
+        // a kid that is still unknown right after a refresh is throttled, not refetched
+        String forged = token("k3", rotated, ISSUER, CLIENT_ID, Instant.now().plusSeconds(600));
+        assertThrows(Exception.class, () -> verifier.verify(forged));
+        assertEquals(2, fetches.get());
+    }
+
+    @Test
+    void rejectsHs256AndUnsignedTokens() throws Exception {
+        verifier.verify(token("k1", current, ISSUER, CLIENT_ID, Instant.now().plusSeconds(600)));
+
+        // HMAC keyed with the public modulus: the classic RS256 → HS256 confusion
+        byte[] publicBytes = ((RSAPublicKey) current.getPublic()).getModulus().toByteArray();
+        String hs256 = Jwts.builder()
+                .setHeaderParam("kid", "k1")
+                .setIssuer(ISSUER)
+                .setAudience(CLIENT_ID)
+                .setExpiration(Date.from(Instant.now().plusSeconds(600)))
+                .signWith(new SecretKeySpec(publicBytes, "HmacSHA256"), SignatureAlgorithm.HS256)
+                .compact();
+        assertThrows(Exception.class, () -> verifier.verify(hs256));
+
+        String unsigned = Jwts.builder()
+                .setHeaderParam("kid", "k1")
+                .setIssuer(ISSUER)
+                .setAudience(CLIENT_ID)
+                .setExpiration(Date.from(Instant.now().plusSeconds(600)))
+                .compact();
+        assertThrows(Exception.class, () -> verifier.verify(unsigned));
+    }
+
+    private static String token(String kid, KeyPair keys, String issuer, String audience, Instant expiresAt) {
+        return Jwts.builder()
+                .setHeaderParam("kid", kid)
+                .setIssuer(issuer)
+                .setAudience(audience)
+                .setSubject("1234567890")
+                .claim("email", "user@gmail.com")
+                .setIssuedAt(Date.from(expiresAt.minusSeconds(3600)))
+                .setExpiration(Date.from(expiresAt))
+                .signWith(keys.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+    }
+
+    private static String jwk(String kid, KeyPair keys) {
+        RSAPublicKey key = (RSAPublicKey) keys.getPublic();
+        return "{\"kty\":\"RSA\",\"alg\":\"RS256\",\"use\":\"sig\",\"kid\":\"" + kid + "\","
+                + "\"n\":\"" + base64Url(key.getModulus()) + "\",\"e\":\"" + base64Url(key.getPublicExponent()) + "\"}";
+    }
+
+    private static String jwks(String... keys) {
+        return "{\"keys\":[" + String.join(",", keys) + "]}";
+    }
+
+    private static String base64Url(BigInteger value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.toByteArray());
+    }
+}
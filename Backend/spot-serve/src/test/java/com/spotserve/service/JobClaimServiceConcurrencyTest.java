@@ -0,0 +1,127 @@
+package com.spotserve.service;
+
+import com.spotserve.model.Job;
+import com.spotserve.model.JobStatus;
+import com.spotserve.repository.JobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Claim-vs-cancel race: every round one pending job, its owner cancelling
+ * and a crowd of mechanics claiming, all released at once. Exactly one of
+ * them may win and the row must read the way the winner left it.
+ */
+@SpringBootTest
+class JobClaimServiceConcurrencyTest {
+
+    private static final int THREADS = 128;
+    private static final int ROUNDS = 20;
+    private static final long CUSTOMER_ID = 1L;
+
+    @Autowired
+    private JobClaimService jobClaimService;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    private ExecutorService pool;
+
+    @BeforeEach
+    void startPool() {
+        pool = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void stopPool() throws InterruptedException {
+        pool.shutdownNow();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void claimAndCancelNeverBothWin() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            Job job = new Job();
+            job.setCustomerId(CUSTOMER_ID);
+            job.setPickupLat(18.52);
+            job.setPickupLng(73.85);
+            job.setDescription("race " + round);
+            Long jobId = jobRepository.save(job).getId();
+
+            // the owner's cancel sits at a different position every round
+            int cancelAt = (round * 37) % THREADS;
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Object>> results = new ArrayList<>();
+
+            for (int i = 0; i < THREADS; i++) {
+                long mechanicId = 1000L + i;
+                boolean cancel = i == cancelAt;
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return cancel
+                            ? jobClaimService.cancel(jobId, CUSTOMER_ID)
+                            : jobClaimService.claim(jobId, mechanicId);
+                }));
+            }
+            start.countDown();
+
+            int claimed = 0;
+            int cancelled = 0;
+            Long winner = null;
+            for (int i = 0; i < THREADS; i++) {
+                Object result = results.get(i).get(30, TimeUnit.SECONDS);
+                if (result == JobClaimService.ClaimResult.CLAIMED) {
+                    claimed++;
+                    winner = 1000L + i;
+                } else if (result == JobClaimService.CancelResult.CANCELLED) {
+                    cancelled++;
+                } else {
+                    assertTrue(result == JobClaimService.ClaimResult.ALREADY_TAKEN
+                            || result == JobClaimService.CancelResult.NOT_PENDING,
+                            "round " + round + ": unexpected " + result);
+                }
+            }
+
+            assertEquals(1, claimed + cancelled, "round " + round + ": exactly one winner");
+
+            Job stored = jobRepository.findById(jobId).orElseThrow();
+            if (cancelled == 1) {
+                assertEquals(JobStatus.CANCELLED, stored.getStatus());
+                assertNull(stored.getMechanicId(), "a cancelled job keeps no mechanic");
+            } else {
+                assertEquals(JobStatus.ACCEPTED, stored.getStatus(), "the claim must not be overwritten");
+                assertEquals(winner, stored.getMechanicId());
+            }
+        }
+    }
+
+    @Test
+    void cancelReportsWhyNothingChanged() {
+        Job job = new Job();
+        job.setCustomerId(CUSTOMER_ID);
+        Long jobId = jobRepository.save(job).getId();
+
+        assertEquals(JobClaimService.CancelResult.FORBIDDEN, jobClaimService.cancel(jobId, 99L));
+        assertEquals(JobClaimService.ClaimResult.CLAIMED, jobClaimService.claim(jobId, 7L));
+        assertEquals(JobClaimService.CancelResult.NOT_PENDING, jobClaimService.cancel(jobId, CUSTOMER_ID));
+        assertEquals(JobClaimService.CancelResult.NOT_FOUND, jobClaimService.cancel(Long.MAX_VALUE, CUSTOMER_ID));
+
+        Job stored = jobRepository.findById(jobId).orElseThrow();
+        assertEquals(JobStatus.ACCEPTED, stored.getStatus());
+        assertEquals(7L, stored.getMechanicId());
+    }
+}
@@ -0,0 +1,128 @@
+package com.spotserve.service;
+
+import com.spotserve.model.Feedback;
+import com.spotserve.model.Job;
+import com.spotserve.model.JobStatus;
+import com.spotserve.model.MechanicRatingStats;
+import com.spotserve.repository.JobRepository;
+import com.spotserve.repository.MechanicRatingStatsRepository;
+import com.spotserve.repository.UserRepository;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives the leaderboard with mocked repositories and fires committed
+ * changes from inside a rescore's database reads, the window in which the
+ * old board is still live and the new one is being built.
+ */
+class MechanicLeaderboardTest {
+
+    private static final long MECHANIC_ID = 42L;
+    private static final Instant JOB_CREATED_AT = Instant.parse("2026-01-10T08:00:00Z");
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final JobRepository jobRepository = mock(JobRepository.class);
+    private final MechanicRatingStatsRepository ratingStatsRepository = mock(MechanicRatingStatsRepository.class);
+    private final EntityPersister jobPersister = mock(EntityPersister.class);
+
+    private MechanicLeaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        leaderboard = new MechanicLeaderboard();
+        ReflectionTestUtils.setField(leaderboard, "userRepository", userRepository);
+        ReflectionTestUtils.setField(leaderboard, "jobRepository", jobRepository);
+        ReflectionTestUtils.setField(leaderboard, "ratingStatsRepository", ratingStatsRepository);
+        ReflectionTestUtils.setField(leaderboard, "priorWeight", 10.0);
+        ReflectionTestUtils.setField(leaderboard, "jobWeight", 0.25);
+        ReflectionTestUtils.setField(leaderboard, "recencyWeight", 0.1);
+        ReflectionTestUtils.setField(leaderboard, "recencyHalfLifeDays", 30.0);
+
+        UserRepository.UserCard card = mock(UserRepository.UserCard.class);
+        when(card.getId()).thenReturn(MECHANIC_ID);
+        when(card.getName()).thenReturn("Mechanic");
+        when(userRepository.findCardsByRole("MECHANIC")).thenReturn(List.of(card));
+        when(jobRepository.findCompletionsByMechanic(JobStatus.COMPLETED)).thenReturn(List.of());
+        when(ratingStatsRepository.findAll()).thenReturn(List.of());
+        when(jobPersister.getPropertyNames()).thenReturn(new String[] { "customerId", "status" });
+
+        leaderboard.rescore();
+    }
+
+    @Test
+    void reviewCommittedDuringRescoreSurvivesTheSwap() {
+        // the review commits after the rating rows were read, so only the live event carries it
+        when(ratingStatsRepository.findAll()).thenAnswer(inv -> {
+            leaderboard.onPostInsert(new PostInsertEvent(feedback(5), 1L, null, null, null));
+            return List.of();
+        });
+
+        leaderboard.rescore();
+
+        MechanicLeaderboard.Standing standing = leaderboard.top(1).get(0).standing();
+        assertEquals(5, standing.ratingSum());
+        assertEquals(1, standing.ratingCount());
+    }
+
+    @Test
+    void completionCommittedDuringRescoreSurvivesTheSwap() {
+        when(jobRepository.findCompletionsByMechanic(any())).thenAnswer(inv -> {
+            leaderboard.onPostUpdate(completed(JOB_CREATED_AT));
+            return List.of();
+        });
+
+        leaderboard.rescore();
+
+        MechanicLeaderboard.Standing standing = leaderboard.top(1).get(0).standing();
+        assertEquals(1, standing.completedJobs());
+        assertEquals(JOB_CREATED_AT.toEpochMilli(), standing.lastActiveMillis());
+    }
+
+    @Test
+    void liveCompletionAndRescoreAgreeOnLastActive() {
+        leaderboard.onPostUpdate(completed(JOB_CREATED_AT));
+        MechanicLeaderboard.Standing live = leaderboard.top(1).get(0).standing();
+
+        JobRepository.MechanicCompletion row = mock(JobRepository.MechanicCompletion.class);
+        when(row.getMechanicId()).thenReturn(MECHANIC_ID);
+        when(row.getCompletedJobs()).thenReturn(1L);
+        when(row.getLastCreatedAt()).thenReturn(JOB_CREATED_AT);
+        when(jobRepository.findCompletionsByMechanic(JobStatus.COMPLETED)).thenReturn(List.of(row));
+
+        leaderboard.rescore();
+        MechanicLeaderboard.Standing reloaded = leaderboard.top(1).get(0).standing();
+
+        assertEquals(reloaded.lastActiveMillis(), live.lastActiveMillis());
+        assertEquals(reloaded.completedJobs(), live.completedJobs());
+    }
+
+    private static Feedback feedback(int rating) {
+        Feedback f = new Feedback();
+        f.setId(1L);
+        f.setMechanicId(MECHANIC_ID);
+        f.setRating(rating);
+        return f;
+    }
+
+    private PostUpdateEvent completed(Instant createdAt) {
+        Job job = new Job();
+        job.setId(7L);
+        job.setMechanicId(MECHANIC_ID);
+        job.setStatus(JobStatus.COMPLETED);
+        job.setCreatedAt(createdAt);
+        return new PostUpdateEvent(job, 7L, null, new Object[] { 1L, JobStatus.PAYMENT_PENDING },
+                null, jobPersister, null);
+    }
+}
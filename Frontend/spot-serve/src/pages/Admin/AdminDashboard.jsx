@@ -6,6 +6,11 @@ import { useToast } from "../../components/Toast";
 
 const API_BASE = process.env.REACT_APP_API_BASE || "http://localhost:8080/api";
 
+// The mechanic roster is served one numbered page at a time; X-Total-Count is the number of mechanics
+const MECHANICS_PAGE_SIZE = 50;
+// Largest page the keyset-paged lists (jobs, users) serve
+const LIST_PAGE_SIZE = 200;
+
 const AdminDashboard = () => {
   const navigate = useNavigate();
   /** STATE */
@@ -21,6 +26,10 @@ const AdminDashboard = () => {
   const [panelView, setPanelView] = useState("list");
   const [searchInPanel, setSearchInPanel] = useState("");
   const [fetchingPanel, setFetchingPanel] = useState(false);
+  // Cursor of the next page of the open jobs / users panel (X-Next-Cursor), null on the last page
+  const [jobsCursor, setJobsCursor] = useState(null);
+  const [usersCursor, setUsersCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
 
   /* SERVICES */
   const [services, setServices] = useState([]);
@@ -35,6 +44,8 @@ const AdminDashboard = () => {
   /* USERS / MECHANICS */
   const [usersList, setUsersList] = useState([]);
   const [mechanicsList, setMechanicsList] = useState([]);
+  const [mechanicsPage, setMechanicsPage] = useState(0);
+  const [mechanicsTotal, setMechanicsTotal] = useState(0);
 
   /* GLOBAL TOAST */
   const { showToast } = useToast();
@@ -60,9 +71,24 @@ const AdminDashboard = () => {
     return arr.length ? arr[0] : [];
   };
 
-  /** Load all jobs (used for Total and local summaries) */
+  /** One page of a keyset-paged list plus the cursor of the next page (null on the last) */
+  const fetchCursorPage = async (url, cursor) => {
+    const sep = url.includes("?") ? "&" : "?";
+    const res = await fetch(
+      cursor ? `${url}${sep}cursor=${encodeURIComponent(cursor)}` : url,
+      { headers: { Authorization: `Bearer ${localStorage.getItem("token")}` } }
+    );
+    const raw = await res.json().catch(() => null);
+    return { items: parseJobs(raw || []), cursor: res.headers.get("X-Next-Cursor") };
+  };
+
+  const jobsUrl = (status) =>
+    `${API_BASE}/admin/dashboard/jobs?status=${encodeURIComponent(status)}&limit=${LIST_PAGE_SIZE}`;
+
+  const usersUrl = () => `${API_BASE}/admin/users?limit=${LIST_PAGE_SIZE}`;
+
+  /** Load all jobs (used for Total and local summaries); follows every status to its last page */
   const loadAllJobs = async () => {
-    const token = localStorage.getItem("token");
     try {
       const statuses = [
         "Completed",
@@ -73,13 +99,12 @@ const AdminDashboard = () => {
       ];
       let combined = [];
       for (let st of statuses) {
-        const res = await fetch(
-          `${API_BASE}/admin/dashboard/jobs?status=${encodeURIComponent(st)}`,
-          { headers: { Authorization: `Bearer ${token}` } }
-        );
-        const raw = await res.json().catch(() => null);
-        const parsed = parseJobs(raw || []);
-        combined = [...combined, ...parsed];
+        let cursor = null;
+        do {
+          const page = await fetchCursorPage(jobsUrl(st), cursor);
+          combined = [...combined, ...page.items];
+          cursor = page.cursor;
+        } while (cursor);
       }
       setAllJobs(combined);
     } catch (err) {
@@ -116,28 +141,43 @@ const AdminDashboard = () => {
     setPanelOpen(true);
     setSearchInPanel("");
 
-    const token = localStorage.getItem("token");
     try {
-      const res = await fetch(
-        `${API_BASE}/admin/dashboard/jobs?status=${encodeURIComponent(status)}`,
-        { headers: { Authorization: `Bearer ${token}` } }
-      );
-      const raw = await res.json();
-      const parsed = parseJobs(raw);
-      if (parsed.length) setJobs(parsed);
-      else
+      const page = await fetchCursorPage(jobsUrl(status), null);
+      if (page.items.length) {
+        setJobs(page.items);
+        setJobsCursor(page.cursor);
+      } else {
         setJobs(
           allJobs.filter((j) => (j.status || "").toUpperCase() === status)
         );
+        setJobsCursor(null);
+      }
     } catch (err) {
       console.error(`fetchJobsByStatus(${status}) error:`, err);
       setJobs(allJobs.filter((j) => (j.status || "").toUpperCase() === status));
+      setJobsCursor(null);
       showToast(`Failed to fetch ${status} jobs`, "error");
     } finally {
       setFetchingPanel(false);
     }
   };
 
+  /** Append the next page of the open status panel */
+  const loadMoreJobs = async () => {
+    if (!jobsCursor || selectedStatus === "TOTAL") return;
+    setLoadingMore(true);
+    try {
+      const page = await fetchCursorPage(jobsUrl(selectedStatus), jobsCursor);
+      setJobs((prev) => [...prev, ...page.items]);
+      setJobsCursor(page.cursor);
+    } catch (err) {
+      console.error("loadMoreJobs error:", err);
+      showToast("Failed to load more jobs", "error");
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   /** Open total panel — show only jobs (all) */
   const openTotalPanel = () => {
     setSelectedStatus("TOTAL");
@@ -145,6 +185,7 @@ const AdminDashboard = () => {
     setPanelView("list");
     setSearchInPanel("");
     setJobs(allJobs);
+    setJobsCursor(null);
   };
 
   /** SERVICES */
@@ -223,14 +264,13 @@ const AdminDashboard = () => {
   const loadUsers = async () => {
     setFetchingPanel(true);
     try {
-      const res = await fetch(`${API_BASE}/admin/users`, {
-        headers: { Authorization: `Bearer ${localStorage.getItem("token")}` },
-      });
-      const data = await res.json();
-      setUsersList(Array.isArray(data) ? data : []);
+      const page = await fetchCursorPage(usersUrl(), null);
+      setUsersList(page.items);
+      setUsersCursor(page.cursor);
     } catch (err) {
       console.error("loadUsers error:", err);
       setUsersList([]);
+      setUsersCursor(null);
       showToast("Failed to load users", "error");
     } finally {
       setFetchingPanel(false);
@@ -239,14 +279,22 @@ const AdminDashboard = () => {
     setPanelOpen(true);
   };
 
-  const loadMechanics = async () => {
+  const fetchMechanicsPage = async (page) => {
+    const res = await fetch(
+      `${API_BASE}/admin/mechanics?page=${page}&size=${MECHANICS_PAGE_SIZE}`,
+      { headers: { Authorization: `Bearer ${localStorage.getItem("token")}` } }
+    );
+    if (!res.ok) throw new Error("Failed to load mechanics");
+    const data = await res.json();
+    setMechanicsList(Array.isArray(data) ? data : []);
+    setMechanicsTotal(Number(res.headers.get("X-Total-Count")) || 0);
+    setMechanicsPage(page);
+  };
+
+  const loadMechanics = async (page = 0) => {
     setFetchingPanel(true);
     try {
-      const res = await fetch(`${API_BASE}/admin/mechanics`, {
-        headers: { Authorization: `Bearer ${localStorage.getItem("token")}` },
-      });
-      const data = await res.json();
-      setMechanicsList(Array.isArray(data) ? data : []);
+      await fetchMechanicsPage(page);
     } catch (err) {
       console.error("loadMechanics error:", err);
       setMechanicsList([]);
@@ -258,26 +306,37 @@ const AdminDashboard = () => {
     setPanelOpen(true);
   };
 
+  /** Append the next page of the users directory */
+  const loadMoreUsers = async () => {
+    if (!usersCursor) return;
+    setLoadingMore(true);
+    try {
+      const page = await fetchCursorPage(usersUrl(), usersCursor);
+      setUsersList((prev) => [...prev, ...page.items]);
+      setUsersCursor(page.cursor);
+    } catch (err) {
+      console.error("loadMoreUsers error:", err);
+      showToast("Failed to load more users", "error");
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const fetchUsersSilent = async () => {
     try {
-      const res = await fetch(`${API_BASE}/admin/users`, {
-        headers: { Authorization: `Bearer ${localStorage.getItem("token")}` },
-      });
-      const data = await res.json();
-      setUsersList(Array.isArray(data) ? data : []);
+      const page = await fetchCursorPage(usersUrl(), null);
+      setUsersList(page.items);
+      setUsersCursor(page.cursor);
     } catch (err) {
       console.error("fetchUsersSilent error:", err);
       setUsersList([]);
+      setUsersCursor(null);
     }
   };
 
   const fetchMechanicsSilent = async () => {
     try {
-      const res = await fetch(`${API_BASE}/admin/mechanics`, {
-        headers: { Authorization: `Bearer ${localStorage.getItem("token")}` },
-      });
-      const data = await res.json();
-      setMechanicsList(Array.isArray(data) ? data : []);
+      await fetchMechanicsPage(0);
     } catch (err) {
       console.error("fetchMechanicsSilent error:", err);
       setMechanicsList([]);
@@ -362,7 +421,7 @@ const AdminDashboard = () => {
     {
       key: "MECHS",
       title: "Total Mechanics",
-      value: stats.totalMechanics ?? (mechanicsList ? mechanicsList.length : 0),
+      value: stats.totalMechanics ?? mechanicsTotal,
       icon: "🔧",
       onClick: () => loadMechanics(),
     },
@@ -419,7 +478,7 @@ const AdminDashboard = () => {
         <div>
           Total Mechanics:{" "}
           <strong>
-            {stats.totalMechanics ?? (mechanicsList ? mechanicsList.length : 0)}
+            {stats.totalMechanics ?? mechanicsTotal}
           </strong>
         </div>
         <div>
@@ -569,6 +628,7 @@ const AdminDashboard = () => {
                 <div className="panel-loading">Loading…</div>
               ) : panelView === "list" ? (
                 /* JOB TABLE — simplified: only job-specific columns (no separate user/mechanic tables here) */
+                <>
                 <table className="table table-hover table-admin">
                   <thead>
                     <tr>
@@ -620,8 +680,22 @@ const AdminDashboard = () => {
                     )}
                   </tbody>
                 </table>
+
+                {jobsCursor && (
+                  <div className="text-center my-2">
+                    <button
+                      className="btn btn-sm btn-outline-primary"
+                      onClick={loadMoreJobs}
+                      disabled={loadingMore}
+                    >
+                      {loadingMore ? "Loading..." : "Load more"}
+                    </button>
+                  </div>
+                )}
+                </>
               ) : panelView === "mechanics" ? (
                 /* MECHANICS TABLE */
+                <>
                 <table className="table table-admin">
                   <thead>
                     <tr>
@@ -645,7 +719,7 @@ const AdminDashboard = () => {
                     ) : (
                       mechanicsList.map((m, i) => (
                         <tr key={m.id}>
-                          <td>{i + 1}</td>
+                          <td>{mechanicsPage * MECHANICS_PAGE_SIZE + i + 1}</td>
                           <td>{m.name}</td>
                           <td>{m.email}</td>
                           <td>{m.phone}</td>
@@ -658,8 +732,34 @@ const AdminDashboard = () => {
                     )}
                   </tbody>
                 </table>
+
+                {mechanicsTotal > MECHANICS_PAGE_SIZE && (
+                  <div className="d-flex justify-content-between align-items-center my-2">
+                    <button
+                      className="btn btn-sm btn-outline-primary"
+                      disabled={mechanicsPage === 0}
+                      onClick={() => loadMechanics(mechanicsPage - 1)}
+                    >
+                      ‹ Prev
+                    </button>
+                    <small className="text-muted">
+                      Page {mechanicsPage + 1} of{" "}
+                      {Math.ceil(mechanicsTotal / MECHANICS_PAGE_SIZE)} ·{" "}
+                      {mechanicsTotal} mechanics
+                    </small>
+                    <button
+                      className="btn btn-sm btn-outline-primary"
+                      disabled={(mechanicsPage + 1) * MECHANICS_PAGE_SIZE >= mechanicsTotal}
+                      onClick={() => loadMechanics(mechanicsPage + 1)}
+                    >
+                      Next ›
+                    </button>
+                  </div>
+                )}
+                </>
               ) : (
                 /* USERS TABLE */
+                <>
                 <table className="table table-admin">
                   <thead>
                     <tr>
@@ -692,6 +792,19 @@ const AdminDashboard = () => {
                     )}
                   </tbody>
                 </table>
+
+                {usersCursor && (
+                  <div className="text-center my-2">
+                    <button
+                      className="btn btn-sm btn-outline-primary"
+                      onClick={loadMoreUsers}
+                      disabled={loadingMore}
+                    >
+                      {loadingMore ? "Loading..." : "Load more"}
+                    </button>
+                  </div>
+                )}
+                </>
               )}
             </div>
           </div>
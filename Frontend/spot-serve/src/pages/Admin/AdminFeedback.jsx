@@ -11,39 +11,65 @@ const AdminFeedback = () => {
 
   const [feedbackList, setFeedbackList] = useState([]);
   const [loading, setLoading] = useState(true);
+  // The API returns one page (newest first) and the cursor of the next one in X-Next-Cursor
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
 
   useEffect(() => {
     loadAllFeedback();
   }, []);
 
+  const fetchFeedbackPage = async (cursor) => {
+    const token = localStorage.getItem("token");
+    const query = cursor ? `?cursor=${encodeURIComponent(cursor)}` : "";
+
+    const res = await fetch(`${API_BASE}/feedback/admin/all${query}`, {
+      headers: { Authorization: `Bearer ${token}` },
+    });
+
+    if (!res.ok) throw new Error("Failed to load feedback");
+
+    const data = await res.json();
+
+    // Filter: Keep only feedback with rating >= 3
+    const filteredData = Array.isArray(data)
+      ? data.filter((fb) => fb.rating >= 3)
+      : [];
+
+    return { items: filteredData, cursor: res.headers.get("X-Next-Cursor") };
+  };
+
   const loadAllFeedback = async () => {
     setLoading(true);
     try {
-      const token = localStorage.getItem("token");
-
-      const res = await fetch(`${API_BASE}/feedback/admin/all`, {
-        headers: { Authorization: `Bearer ${token}` },
-      });
-
-      if (!res.ok) throw new Error("Failed to load feedback");
-
-      const data = await res.json();
-      
-      // Filter: Keep only feedback with rating >= 3
-      const filteredData = Array.isArray(data) 
-        ? data.filter((fb) => fb.rating >= 3)
-        : [];
-      
-      setFeedbackList(filteredData);
+      const page = await fetchFeedbackPage(null);
+      setFeedbackList(page.items);
+      setNextCursor(page.cursor);
     } catch (err) {
       console.error("loadAllFeedback error:", err);
       showToast("Failed to load feedback", "error");
       setFeedbackList([]);
+      setNextCursor(null);
     } finally {
       setLoading(false);
     }
   };
 
+  const loadMoreFeedback = async () => {
+    if (!nextCursor) return;
+    setLoadingMore(true);
+    try {
+      const page = await fetchFeedbackPage(nextCursor);
+      setFeedbackList((prev) => [...prev, ...page.items]);
+      setNextCursor(page.cursor);
+    } catch (err) {
+      console.error("loadMoreFeedback error:", err);
+      showToast("Failed to load more feedback", "error");
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   // ⭐ Star Renderer - Only filled stars (no gray)
   const renderStars = (rating) => {
     return (
@@ -91,7 +117,10 @@ const AdminFeedback = () => {
         </button>
 
         <h2 className="fw-bold mt-3">Customer Feedback Management</h2>
-        <p className="text-muted">Total Feedback (3+ Stars): {feedbackList.length}</p>
+        <p className="text-muted">
+          Feedback (3+ Stars): {feedbackList.length}
+          {nextCursor ? " loaded so far" : ""}
+        </p>
       </div>
 
       {/* Feedback Table */}
@@ -148,6 +177,14 @@ const AdminFeedback = () => {
             </tbody>
           </table>
         )}
+
+        {nextCursor && (
+          <div className="text-center my-3">
+            <button className="btn btn-outline-primary" onClick={loadMoreFeedback} disabled={loadingMore}>
+              {loadingMore ? "Loading..." : "Load more"}
+            </button>
+          </div>
+        )}
       </div>
     </div>
   );
@@ -4,6 +4,9 @@ import "./AdminMechanics.css";
 const API_BASE = process.env.REACT_APP_API_BASE || "http://localhost:8080/api/admin/mechanics";
 const RATINGS_API = process.env.REACT_APP_API_BASE || "http://localhost:8080/api/admin/mechanics/ratings";
 
+// The roster is served one numbered page at a time; X-Total-Count is the number of mechanics
+const PAGE_SIZE = 50;
+
 const AdminMechanics = () => {
   const [mechanics, setMechanics] = useState([]);
   const [showAddModal, setShowAddModal] = useState(false);
@@ -21,6 +24,8 @@ const AdminMechanics = () => {
   });
 
   const [loading, setLoading] = useState(false);
+  const [page, setPage] = useState(0);
+  const [totalMechanics, setTotalMechanics] = useState(0);
 
   /** ======== TOAST STATE ========= **/
   const [toast, setToast] = useState({ show: false, type: "", msg: "" });
@@ -42,17 +47,28 @@ const AdminMechanics = () => {
     return () => document.removeEventListener("keydown", onKey);
   }, [showAddModal]);
 
-  const fetchMechanics = async () => {
+  const fetchMechanics = async (targetPage = page) => {
     setLoading(true);
     const token = localStorage.getItem("token");
 
     try {
-      const res = await fetch(API_BASE, {
+      const res = await fetch(`${API_BASE}?page=${targetPage}&size=${PAGE_SIZE}`, {
         headers: { Authorization: `Bearer ${token}` },
       });
 
       const data = await res.json();
+      const total = Number(res.headers.get("X-Total-Count")) || 0;
+
+      // the last page emptied (e.g. after a delete): step back to the new last page
+      const lastPage = Math.max(0, Math.ceil(total / PAGE_SIZE) - 1);
+      if (targetPage > lastPage) {
+        fetchMechanics(lastPage);
+        return;
+      }
+
       setMechanics(data || []);
+      setTotalMechanics(total);
+      setPage(targetPage);
 
       // Fetch ratings for all mechanics
       if (data && data.length > 0) {
@@ -225,6 +241,11 @@ const AdminMechanics = () => {
       </div>
 
       {loading && <p className="text-center text-muted">Loading mechanics...</p>}
+      {!loading && totalMechanics > 0 && (
+        <p className="text-muted small">
+          Showing {page * PAGE_SIZE + 1}–{page * PAGE_SIZE + mechanics.length} of {totalMechanics} mechanics
+        </p>
+      )}
       {!loading && mechanics.length === 0 && (
         <p className="text-muted text-center">No mechanics found.</p>
       )}
@@ -294,6 +315,28 @@ const AdminMechanics = () => {
         ))}
       </div>
 
+      {totalMechanics > PAGE_SIZE && (
+        <div className="d-flex justify-content-center align-items-center gap-3 mb-4">
+          <button
+            className="btn btn-outline-primary btn-sm"
+            disabled={loading || page === 0}
+            onClick={() => fetchMechanics(page - 1)}
+          >
+            ‹ Prev
+          </button>
+          <span className="text-muted small">
+            Page {page + 1} of {Math.ceil(totalMechanics / PAGE_SIZE)}
+          </span>
+          <button
+            className="btn btn-outline-primary btn-sm"
+            disabled={loading || (page + 1) * PAGE_SIZE >= totalMechanics}
+            onClick={() => fetchMechanics(page + 1)}
+          >
+            Next ›
+          </button>
+        </div>
+      )}
+
       {/* ADD MECHANIC MODAL */}
       {showAddModal && (
         <div
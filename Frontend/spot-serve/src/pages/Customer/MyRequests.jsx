@@ -13,6 +13,9 @@ import {
 
 import ReceiptModal from "../../components/ReceiptModal";  // ⭐ ADDED
 
+// Largest page the jobs API serves
+const PAGE_SIZE = 200;
+
 const MyRequests = () => {
   const [requests, setRequests] = useState([]);
   const [filteredRequests, setFilteredRequests] = useState([]);
@@ -52,13 +55,22 @@ const MyRequests = () => {
     setFilteredRequests(filtered);
   }, [requests, filterStatus, searchTerm, sortBy]);
 
+  // The API returns one page (newest first) and the cursor of the next one in X-Next-Cursor;
+  // follow it to the end so the KPIs, filter and sort see every request
   const fetchRequests = async () => {
     try {
       const token = localStorage.getItem("token");
-      const response = await api.get("/api/customer/jobs", {
-        headers: { Authorization: `Bearer ${token}` },
-      });
-      setRequests(response.data || []);
+      let all = [];
+      let cursor = null;
+      do {
+        const response = await api.get("/api/customer/jobs", {
+          headers: { Authorization: `Bearer ${token}` },
+          params: cursor ? { limit: PAGE_SIZE, cursor } : { limit: PAGE_SIZE },
+        });
+        all = all.concat(response.data || []);
+        cursor = response.headers["x-next-cursor"] || null;
+      } while (cursor);
+      setRequests(all);
     } catch (error) {
       console.error("Error fetching requests:", error);
     } finally {
@@ -60,6 +60,30 @@ const MapModal = ({ show, onClose, lat, lng }) => {
   );
 };
 
+/* ===========================
+   ACCEPTED JOBS (all pages)
+=========================== */
+// Largest page the jobs API serves
+const PAGE_SIZE = 200;
+
+// /accepted returns one page (newest first) and the cursor of the next one in X-Next-Cursor;
+// follow it to the end so older accepted / ongoing / completed jobs are not dropped
+const fetchAllAccepted = async (token) => {
+  let all = [];
+  let cursor = null;
+  do {
+    const query = `?limit=${PAGE_SIZE}` + (cursor ? `&cursor=${encodeURIComponent(cursor)}` : "");
+    const res = await fetch(`${API_BASE}/accepted${query}`, {
+      headers: { Authorization: `Bearer ${token}` },
+    });
+    if (!res.ok) throw new Error("Failed");
+
+    all = all.concat((await res.json()) || []);
+    cursor = res.headers.get("X-Next-Cursor");
+  } while (cursor);
+  return all;
+};
+
 /* ===========================
    MAIN PAGE
 =========================== */
@@ -86,25 +110,21 @@ const MechanicDashboard = () => {
     const token = localStorage.getItem("token");
 
     try {
-      let endpoint = `${API_BASE}/available`;
-
       if (activeTab === "accepted") {
-        endpoint = `${API_BASE}/accepted`;
+        setJobs(await fetchAllAccepted(token));
+        return;
       }
 
       if (activeTab === "completed") {
         const [acc, avail] = await Promise.all([
-          fetch(`${API_BASE}/accepted`, {
-            headers: { Authorization: `Bearer ${token}` },
-          }),
+          fetchAllAccepted(token).catch(() => []),
           fetch(`${API_BASE}/available`, {
             headers: { Authorization: `Bearer ${token}` },
           }),
         ]);
 
-        let list = [];
+        let list = [...acc];
 
-        if (acc.ok) list = list.concat(await acc.json());
         if (avail.ok) list = list.concat(await avail.json());
 
         list = list.filter((j) => {
@@ -122,7 +142,7 @@ const MechanicDashboard = () => {
         return;
       }
 
-      const res = await fetch(endpoint, {
+      const res = await fetch(`${API_BASE}/available`, {
         headers: { Authorization: `Bearer ${token}` },
       });
 